@@ -1,26 +1,77 @@
 import java.util.*;
 
 public class Board {
+    private static final int CHUNK_BITS = 6; // 64 cells per chunk of the destination table
+    private static final int CHUNK_MASK = (1 << CHUNK_BITS) - 1;
+    
     private final int size;
     private final int winningPosition;
     private final List<Snake> snakes;
     private final List<Ladder> ladders;
     private final Map<Integer, Snake> snakeMap;  // For O(1) lookup
     private final Map<Integer, Ladder> ladderMap; // For O(1) lookup
+    private final int[][] destinations;           // Cell -> cell after snake/ladder, in chunks
+    private final boolean[] ownedChunks;          // Chunks not shared with other versions
+    private final long version;
+    private volatile boolean sealed;              // No more in-place edits (see withSnake etc.)
     
     public Board() {
         this(100);
     }
     
     public Board(int size) {
+        this(size, true);
+    }
+    
+    /**
+     * Creates a board holding exactly the given snakes and ladders (no defaults)
+     */
+    public Board(int size, List<Snake> snakes, List<Ladder> ladders) {
+        this(size, false);
+        for (Snake snake : snakes) {
+            addSnake(snake);
+        }
+        for (Ladder ladder : ladders) {
+            addLadder(ladder);
+        }
+    }
+    
+    private Board(int size, boolean withDefaults) {
         this.size = size;
         this.winningPosition = size;
         this.snakes = new ArrayList<>();
         this.ladders = new ArrayList<>();
         this.snakeMap = new HashMap<>();
         this.ladderMap = new HashMap<>();
+        this.destinations = new int[(size >> CHUNK_BITS) + 1][1 << CHUNK_BITS];
+        this.ownedChunks = new boolean[destinations.length];
+        for (int i = 0; i < destinations.length; i++) {
+            for (int j = 0; j <= CHUNK_MASK; j++) {
+                destinations[i][j] = (i << CHUNK_BITS) + j;
+            }
+            ownedChunks[i] = true;
+        }
+        this.version = 0;
         
-        initializeDefaultSnakesAndLadders();
+        if (withDefaults) {
+            initializeDefaultSnakesAndLadders();
+        }
+    }
+    
+    /**
+     * Next version of a board: copies the (small) snake and ladder collections,
+     * but shares every destination chunk until it is written
+     */
+    private Board(Board base) {
+        this.size = base.size;
+        this.winningPosition = base.winningPosition;
+        this.snakes = new ArrayList<>(base.snakes);
+        this.ladders = new ArrayList<>(base.ladders);
+        this.snakeMap = new HashMap<>(base.snakeMap);
+        this.ladderMap = new HashMap<>(base.ladderMap);
+        this.destinations = base.destinations.clone();
+        this.ownedChunks = new boolean[destinations.length];
+        this.version = base.version + 1;
     }
     
     private void initializeDefaultSnakesAndLadders() {
@@ -45,23 +96,125 @@ public class Board {
     }
     
     public void addSnake(Snake snake) {
+        checkNotSealed();
+        placeSnake(snake);
+    }
+    
+    public void addLadder(Ladder ladder) {
+        checkNotSealed();
+        placeLadder(ladder);
+    }
+    
+    private void placeSnake(Snake snake) {
         if (snake.getHead() > size || snake.getTail() < 1) {
             throw new IllegalArgumentException("Snake positions must be within board bounds!");
         }
         snakes.add(snake);
         snakeMap.put(snake.getHead(), snake);
+        setDestination(snake.getHead(), snake.getTail()); // Snakes win over ladders on the same cell
     }
     
-
-    public void addLadder(Ladder ladder) {
+    private void placeLadder(Ladder ladder) {
         if (ladder.getTop() > size || ladder.getBottom() < 1) {
             throw new IllegalArgumentException("Ladder positions must be within board bounds!");
         }
         ladders.add(ladder);
         ladderMap.put(ladder.getBottom(), ladder);
+        if (!snakeMap.containsKey(ladder.getBottom())) {
+            setDestination(ladder.getBottom(), ladder.getTop());
+        }
+    }
+    
+    /**
+     * Writes one cell, copying its chunk first if another version shares it
+     */
+    private void setDestination(int position, int destination) {
+        int chunk = position >> CHUNK_BITS;
+        if (!ownedChunks[chunk]) {
+            destinations[chunk] = destinations[chunk].clone();
+            ownedChunks[chunk] = true;
+        }
+        destinations[chunk][position & CHUNK_MASK] = destination;
+    }
+    
+    private void checkNotSealed() {
+        if (sealed) {
+            throw new IllegalStateException("Board version " + version +
+                                            " is published; use withSnake()/withLadder() to edit it!");
+        }
+    }
+    
+    // Copy-on-write versions - the receiver is sealed and stays unchanged
+    
+    /**
+     * Returns the next version of this board with the snake added
+     */
+    public Board withSnake(Snake snake) {
+        Board next = nextVersion();
+        next.placeSnake(snake);
+        next.seal();
+        return next;
+    }
+    
+    /**
+     * Returns the next version of this board with the ladder added
+     */
+    public Board withLadder(Ladder ladder) {
+        Board next = nextVersion();
+        next.placeLadder(ladder);
+        next.seal();
+        return next;
+    }
+    
+    /**
+     * Returns the next version of this board without the snake whose head is at the given cell
+     */
+    public Board withoutSnakeAt(int head) {
+        if (!snakeMap.containsKey(head)) {
+            throw new IllegalArgumentException("No snake at position " + head + "!");
+        }
+        Board next = nextVersion();
+        next.snakes.removeIf(snake -> snake.getHead() == head);
+        next.snakeMap.remove(head);
+        Ladder ladder = next.ladderMap.get(head);
+        next.setDestination(head, ladder != null ? ladder.getTop() : head);
+        next.seal();
+        return next;
+    }
+    
+    /**
+     * Returns the next version of this board without the ladder whose bottom is at the given cell
+     */
+    public Board withoutLadderAt(int bottom) {
+        if (!ladderMap.containsKey(bottom)) {
+            throw new IllegalArgumentException("No ladder at position " + bottom + "!");
+        }
+        Board next = nextVersion();
+        next.ladders.removeIf(ladder -> ladder.getBottom() == bottom);
+        next.ladderMap.remove(bottom);
+        if (!next.snakeMap.containsKey(bottom)) {
+            next.setDestination(bottom, bottom);
+        }
+        next.seal();
+        return next;
+    }
+    
+    private Board nextVersion() {
+        seal(); // Chunks are about to be shared, so this version must not change any more
+        return new Board(this);
+    }
+    
+    /**
+     * Forbids further addSnake()/addLadder() calls, making the board safe to share
+     */
+    public void seal() {
+        sealed = true;
+    }
+    
+    public boolean isSealed() {
+        return sealed;
     }
     
-
     public int movePlayer(Player player, int diceRoll) {
         int currentPosition = player.getPosition();
         int newPosition = currentPosition + diceRoll;
@@ -103,6 +256,14 @@ public class Board {
         return newPosition;
     }
     
+    /**
+     * Returns where a player landing on the given cell ends up - same rules as
+     * movePlayer(), but silent and allocation-free for simulations
+     */
+    public int getDestination(int position) {
+        return destinations[position >> CHUNK_BITS][position & CHUNK_MASK];
+    }
+    
     public boolean hasPlayerWon(Player player) {
         return player.getPosition() >= winningPosition;
     }
@@ -207,6 +368,10 @@ public class Board {
         return winningPosition;
     }
     
+    public long getVersion() {
+        return version;
+    }
+    
     public List<Snake> getSnakes() {
         return new ArrayList<>(snakes);
     }
@@ -0,0 +1,298 @@
+import java.util.*;
+
+/**
+ * Exact expected number of turns for a single player to finish a board,
+ * with incremental updates for one-jump edits.
+ *
+ * For a player standing on cell p, with s dice sides and k of the rolls
+ * overshooting the last cell:
+ *   E[p] = (s + sum of E[destination(p + r)] over the s - k valid rolls) / (s - k)
+ *
+ * Only snakes make this recurrence point downwards, so cells are solved from
+ * the top down, with E of every snake tail kept as an unknown x_t. Each cell
+ * then holds an affine form E[p] = a_p + sum b_p[t] * x_t, and the x_t come
+ * from a small linear system (one equation per snake tail).
+ *
+ * The form of cell p depends only on cells above it, so changing the jump at
+ * cell c invalidates just the forms of cells below c. Updates recompute those,
+ * then re-solve the tail system. Every coefficient is computed the same way
+ * as in a full analysis, so the answers are identical to a full recompute.
+ */
+public class BoardAnalyzer {
+    private final int sides;
+    private Board board;
+    private final int size;
+    private final int[] destinations;  // Copy of the board's jumps, to diff updates
+    private final double[] constants;  // a_p
+    private final double[][] coefficients; // b_p, indexed by variable (may be shorter = zero padded)
+    private final int[] variableOf;    // Cell -> variable index, or -1
+    private final int[] tailRefs;      // How many snakes end on each cell
+    private int[] variableCells;
+    private int variableCount;
+    private double[] solution;         // x_t by variable index, null until solved
+    private int[] solvedTails;         // Snake tail cells in the last solve, ascending
+    private int lastRecomputedCells;
+
+    public BoardAnalyzer(Board board) {
+        this(board, 6);
+    }
+
+    public BoardAnalyzer(Board board, int diceSides) {
+        if (diceSides < 2) {
+            throw new IllegalArgumentException("Dice must have at least 2 sides!");
+        }
+        this.sides = diceSides;
+        this.board = board;
+        this.size = board.getSize();
+        this.destinations = new int[size + 1];
+        this.constants = new double[size + 1];
+        this.coefficients = new double[size + 1][];
+        this.variableOf = new int[size + 1];
+        this.tailRefs = new int[size + 1];
+        this.variableCells = new int[8];
+        Arrays.fill(variableOf, -1);
+
+        for (int cell = 1; cell <= size; cell++) {
+            destinations[cell] = cell;
+            setDestination(cell, board.getDestination(cell));
+        }
+        recomputeBelow(size + 1);
+    }
+
+    // Edits - each returns the new board version the analysis now describes
+
+    public Board addSnake(Snake snake) {
+        return apply(board.withSnake(snake), snake.getHead());
+    }
+
+    public Board addLadder(Ladder ladder) {
+        return apply(board.withLadder(ladder), ladder.getBottom());
+    }
+
+    public Board removeSnakeAt(int head) {
+        return apply(board.withoutSnakeAt(head), head);
+    }
+
+    public Board removeLadderAt(int bottom) {
+        return apply(board.withoutLadderAt(bottom), bottom);
+    }
+
+    public Board moveSnake(int oldHead, Snake snake) {
+        return apply(board.withoutSnakeAt(oldHead).withSnake(snake), oldHead, snake.getHead());
+    }
+
+    public Board moveLadder(int oldBottom, Ladder ladder) {
+        return apply(board.withoutLadderAt(oldBottom).withLadder(ladder), oldBottom, ladder.getBottom());
+    }
+
+    /**
+     * Switches to any other version of the same-sized board, recomputing
+     * only below the highest cell whose jump changed
+     */
+    public void update(Board next) {
+        if (next.getSize() != size) {
+            throw new IllegalArgumentException("Board size changed from " + size + " to " + next.getSize() + "!");
+        }
+        int highest = 0;
+        for (int cell = size; cell >= 1; cell--) {
+            if (next.getDestination(cell) != destinations[cell]) {
+                highest = cell;
+                break;
+            }
+        }
+        board = next;
+        if (highest == 0) {
+            lastRecomputedCells = 0;
+            return;
+        }
+        for (int cell = 1; cell <= highest; cell++) {
+            setDestination(cell, next.getDestination(cell));
+        }
+        recomputeBelow(highest);
+    }
+
+    private Board apply(Board next, int... changedCells) {
+        int highest = 0;
+        for (int cell : changedCells) {
+            setDestination(cell, next.getDestination(cell));
+            highest = Math.max(highest, cell);
+        }
+        board = next;
+        recomputeBelow(highest);
+        return next;
+    }
+
+    private void setDestination(int cell, int destination) {
+        int old = destinations[cell];
+        if (old < cell) {
+            tailRefs[old]--;
+        }
+        if (destination < cell) {
+            tailRefs[destination]++;
+            if (variableOf[destination] < 0) {
+                addVariable(destination);
+            }
+        }
+        destinations[cell] = destination;
+    }
+
+    private void addVariable(int cell) {
+        if (variableCount == variableCells.length) {
+            variableCells = Arrays.copyOf(variableCells, variableCount * 2);
+        }
+        variableOf[cell] = variableCount;
+        variableCells[variableCount++] = cell;
+    }
+
+    /**
+     * Rebuilds the affine forms of every cell below the given one, top down
+     */
+    private void recomputeBelow(int cell) {
+        for (int p = Math.min(cell, size) - 1; p >= 0; p--) {
+            computeForm(p);
+        }
+        lastRecomputedCells = Math.min(cell, size);
+        solution = null;
+    }
+
+    private void computeForm(int p) {
+        double[] row = coefficients[p];
+        if (row == null || row.length < variableCount) {
+            row = new double[variableCells.length];
+            coefficients[p] = row;
+        } else {
+            Arrays.fill(row, 0.0);
+        }
+
+        double constant = sides;
+        int validRolls = 0;
+        for (int roll = 1; roll <= sides; roll++) {
+            int landed = p + roll;
+            if (landed > size) {
+                continue; // Overshoot: stay put (folded into the divisor)
+            }
+            validRolls++;
+            int next = destinations[landed];
+            if (next == size) {
+                continue; // Finished: E = 0
+            }
+            if (next < landed) {
+                row[variableOf[next]] += 1.0; // Snake tail: unknown x_t
+            } else {
+                constant += constants[next];
+                double[] nextRow = coefficients[next];
+                for (int i = 0; i < nextRow.length && i < variableCount; i++) {
+                    row[i] += nextRow[i];
+                }
+            }
+        }
+
+        constants[p] = constant / validRolls;
+        for (int i = 0; i < variableCount; i++) {
+            row[i] /= validRolls;
+        }
+    }
+
+    /**
+     * Solves x_t = a_t + sum b_t[u] * x_u over the current snake tails, in cell order
+     */
+    private void solve() {
+        int[] tails = new int[variableCount];
+        int m = 0;
+        for (int cell = 0; cell <= size; cell++) {
+            if (tailRefs[cell] > 0) {
+                tails[m++] = cell;
+            }
+        }
+
+        double[][] matrix = new double[m][m + 1];
+        for (int i = 0; i < m; i++) {
+            double[] row = coefficients[tails[i]];
+            for (int j = 0; j < m; j++) {
+                int variable = variableOf[tails[j]];
+                double b = variable < row.length ? row[variable] : 0.0;
+                matrix[i][j] = (i == j ? 1.0 : 0.0) - b;
+            }
+            matrix[i][m] = constants[tails[i]];
+        }
+
+        // Gaussian elimination with partial pivoting
+        for (int col = 0; col < m; col++) {
+            int pivot = col;
+            for (int r = col + 1; r < m; r++) {
+                if (Math.abs(matrix[r][col]) > Math.abs(matrix[pivot][col])) {
+                    pivot = r;
+                }
+            }
+            if (Math.abs(matrix[pivot][col]) < 1e-12) {
+                throw new IllegalStateException("Board has cells from which the game can never finish!");
+            }
+            double[] swap = matrix[col];
+            matrix[col] = matrix[pivot];
+            matrix[pivot] = swap;
+
+            for (int r = col + 1; r < m; r++) {
+                double factor = matrix[r][col] / matrix[col][col];
+                if (factor != 0.0) {
+                    for (int c = col; c <= m; c++) {
+                        matrix[r][c] -= factor * matrix[col][c];
+                    }
+                }
+            }
+        }
+
+        solvedTails = Arrays.copyOf(tails, m);
+        double[] x = new double[variableCells.length];
+        for (int i = m - 1; i >= 0; i--) {
+            double value = matrix[i][m];
+            for (int j = i + 1; j < m; j++) {
+                value -= matrix[i][j] * x[variableOf[tails[j]]];
+            }
+            x[variableOf[tails[i]]] = value / matrix[i][i];
+        }
+        solution = x;
+    }
+
+    /**
+     * Expected turns for one player starting off the board (position 0)
+     */
+    public double getExpectedTurns() {
+        return getExpectedTurns(0);
+    }
+
+    /**
+     * Expected turns to finish for one player standing on the given cell
+     */
+    public double getExpectedTurns(int position) {
+        if (position < 0 || position > size) {
+            throw new IllegalArgumentException("Position must be within board bounds!");
+        }
+        if (position == size) {
+            return 0.0;
+        }
+        if (solution == null) {
+            solve();
+        }
+        double value = constants[position];
+        double[] row = coefficients[position];
+        // Only current snake tails can have non-zero coefficients; sum them in cell order
+        for (int tail : solvedTails) {
+            int variable = variableOf[tail];
+            if (variable < row.length) {
+                value += row[variable] * solution[variable];
+            }
+        }
+        return value;
+    }
+
+    public Board getBoard() {
+        return board;
+    }
+
+    /**
+     * Cells whose forms the last analysis or update had to recompute
+     */
+    public int getLastRecomputedCells() {
+        return lastRecomputedCells;
+    }
+}
@@ -1,8 +1,9 @@
 import java.util.Random;
 
 public class Dice {
-    private Random random;
+    private StatefulRandom random;
     private int sides;
+    private DiceFairnessMonitor.Recorder monitor; // Optional fairness monitoring
     
     public Dice() {
         this(6); // Default 6-sided dice
@@ -10,14 +11,43 @@ public class Dice {
     
     public Dice(int sides) {
         this.sides = sides;
-        this.random = new Random();
+        this.random = new StatefulRandom();
+    }
+    
+    /**
+     * java.util.Random with the same sequence, but whose state can be saved
+     * and restored (used when idle games are evicted from memory)
+     */
+    private static class StatefulRandom extends Random {
+        private static final long serialVersionUID = 1L;
+        private static final long MULTIPLIER = 0x5DEECE66DL;
+        private static final long ADDEND = 0xBL;
+        private static final long MASK = (1L << 48) - 1;
+        
+        private long state; // Set by setSeed(), which Random's constructor calls
+        
+        @Override
+        public void setSeed(long seed) {
+            super.setSeed(seed);
+            state = (seed ^ MULTIPLIER) & MASK;
+        }
+        
+        @Override
+        protected int next(int bits) {
+            state = (state * MULTIPLIER + ADDEND) & MASK;
+            return (int) (state >>> (48 - bits));
+        }
     }
     
     /**
      * Rolls the dice and returns result
      */
     public int roll() {
-        return random.nextInt(sides) + 1; // Returns 1 to sides
+        int value = random.nextInt(sides) + 1; // Returns 1 to sides
+        if (monitor != null) {
+            monitor.record(value);
+        }
+        return value;
     }
     
     /**
@@ -35,10 +65,48 @@ public class Dice {
         return sides;
     }
     
+    /**
+     * Internal generator state, for saving a game; restore it with setState()
+     */
+    public long getState() {
+        return random.state;
+    }
+    
+    public void setState(long state) {
+        random.state = state & StatefulRandom.MASK;
+    }
+    
+    /**
+     * Counts every roll (including each die of rollMultiple) in the given stream; null to stop
+     */
+    public void setMonitor(DiceFairnessMonitor.Stream stream) {
+        if (stream != null && stream.getSides() != sides) {
+            throw new IllegalArgumentException("Monitor stream expects " + stream.getSides() + "-sided dice!");
+        }
+        flushMonitor();
+        this.monitor = stream == null ? null : stream.newRecorder();
+    }
+    
+    /**
+     * The monitor stream set with setMonitor(), or null
+     */
+    public DiceFairnessMonitor.Stream getMonitor() {
+        return monitor == null ? null : monitor.getStream();
+    }
+    
+    /**
+     * Makes rolls still batched in this Dice visible to the monitor's next check
+     */
+    public void flushMonitor() {
+        if (monitor != null) {
+            monitor.flush();
+        }
+    }
+    
     // /**
     //  * For testing - allows setting seed for predictable results
     //  */
     public void setSeed(long seed) {
-        this.random = new Random(seed);
+        random.setSeed(seed); // Same sequence as new Random(seed), without allocating
     }
 }
\ No newline at end of file
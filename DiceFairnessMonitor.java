@@ -0,0 +1,321 @@
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.function.*;
+
+/**
+ * Watches dice streams for bias without logging individual rolls.
+ *
+ * Each Dice counts its own rolls in plain fields (a Recorder) and adds them to
+ * the stream's striped counters (LongAdder) every FLUSH_ROLLS rolls: one per
+ * face, plus the pair count and sum of products of consecutive rolls. So a
+ * roll costs a few plain increments, and a check may miss up to FLUSH_ROLLS-1
+ * recent rolls per Dice. check() - run
+ * periodically on a TimingWheel, or by hand - snapshots the counters and
+ * tests the sliding window formed by the last windowChecks intervals:
+ *   - chi-square goodness of fit of the face counts (any number of sides)
+ *   - serial correlation between consecutive rolls of the same Dice
+ * Both statistics are turned into z-scores; above the threshold, an Alert is raised.
+ */
+public class DiceFairnessMonitor {
+    private static final int MIN_EXPECTED_PER_FACE = 5; // Chi-square needs this many per face
+    static final int FLUSH_ROLLS = 256;
+
+    private final int windowChecks;
+    private final double zThreshold;
+    private final Consumer<Alert> onAlert;
+    private final List<Stream> streams = new CopyOnWriteArrayList<>();
+    private TimingWheel.Repeating periodic;
+
+    public enum Test {
+        CHI_SQUARE, SERIAL_CORRELATION
+    }
+
+    /**
+     * A failed fairness test on one stream's current window
+     */
+    public static class Alert {
+        private final String streamName;
+        private final Test test;
+        private final double statistic;
+        private final double zScore;
+        private final long rolls;
+
+        Alert(String streamName, Test test, double statistic, double zScore, long rolls) {
+            this.streamName = streamName;
+            this.test = test;
+            this.statistic = statistic;
+            this.zScore = zScore;
+            this.rolls = rolls;
+        }
+
+        public String getStreamName() {
+            return streamName;
+        }
+
+        public Test getTest() {
+            return test;
+        }
+
+        /**
+         * Chi-square value, or the serial correlation coefficient
+         */
+        public double getStatistic() {
+            return statistic;
+        }
+
+        public double getZScore() {
+            return zScore;
+        }
+
+        public long getRolls() {
+            return rolls;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("⚠️ Dice stream '%s' failed %s: statistic %.4f, z %.2f over %d rolls",
+                                 streamName, test, statistic, zScore, rolls);
+        }
+    }
+
+    /**
+     * Counters for one logical dice stream; may be shared by many Dice on many threads
+     */
+    public class Stream {
+        private final String name;
+        private final int sides;
+        private final LongAdder[] faceCounts;
+        private final LongAdder pairs = new LongAdder();
+        private final LongAdder productSum = new LongAdder();
+        private final long[][] history; // Counter snapshots, one per check (guarded by this)
+        private int checks;
+        private double lastChiSquareZ;
+        private double lastSerialZ;
+
+        private Stream(String name, int sides) {
+            this.name = name;
+            this.sides = sides;
+            this.faceCounts = new LongAdder[sides];
+            for (int i = 0; i < sides; i++) {
+                faceCounts[i] = new LongAdder();
+            }
+            this.history = new long[windowChecks + 1][sides + 2];
+        }
+
+        /**
+         * Per-Dice counters for this stream (not thread-safe, like Dice itself)
+         */
+        public Recorder newRecorder() {
+            return new Recorder(this);
+        }
+
+        private void add(long[] faces, long pairCount, long products) {
+            for (int i = 0; i < sides; i++) {
+                if (faces[i] != 0) {
+                    faceCounts[i].add(faces[i]);
+                }
+            }
+            pairs.add(pairCount);
+            productSum.add(products);
+        }
+
+        private synchronized void check() {
+            long[] current = history[checks % history.length];
+            for (int i = 0; i < sides; i++) {
+                current[i] = faceCounts[i].sum();
+            }
+            current[sides] = pairs.sum();
+            current[sides + 1] = productSum.sum();
+
+            // Window = difference from the oldest snapshot we still hold
+            long[] oldest = checks >= windowChecks ? history[(checks - windowChecks) % history.length] : null;
+            checks++;
+
+            long[] window = new long[sides + 2];
+            long rolls = 0;
+            for (int i = 0; i < sides + 2; i++) {
+                window[i] = current[i] - (oldest == null ? 0 : oldest[i]);
+                if (i < sides) {
+                    rolls += window[i];
+                }
+            }
+
+            if (rolls < (long) MIN_EXPECTED_PER_FACE * sides) {
+                return;
+            }
+
+            double chiSquare = chiSquare(window, rolls);
+            lastChiSquareZ = chiSquareToZ(chiSquare, sides - 1);
+            if (lastChiSquareZ > zThreshold) {
+                onAlert.accept(new Alert(name, Test.CHI_SQUARE, chiSquare, lastChiSquareZ, rolls));
+            }
+
+            long pairCount = window[sides];
+            if (pairCount > 1) {
+                double r = serialCorrelation(window, rolls, pairCount);
+                lastSerialZ = r * Math.sqrt(pairCount);
+                if (Math.abs(lastSerialZ) > zThreshold) {
+                    onAlert.accept(new Alert(name, Test.SERIAL_CORRELATION, r, lastSerialZ, rolls));
+                }
+            }
+        }
+
+        private double chiSquare(long[] window, long rolls) {
+            double expected = (double) rolls / sides;
+            double chiSquare = 0;
+            for (int i = 0; i < sides; i++) {
+                double diff = window[i] - expected;
+                chiSquare += diff * diff / expected;
+            }
+            return chiSquare;
+        }
+
+        /**
+         * Lag-1 correlation, using the face counts for the mean and variance
+         */
+        private double serialCorrelation(long[] window, long rolls, long pairCount) {
+            double sum = 0;
+            double sumSquares = 0;
+            for (int i = 0; i < sides; i++) {
+                sum += (double) (i + 1) * window[i];
+                sumSquares += (double) (i + 1) * (i + 1) * window[i];
+            }
+            double mean = sum / rolls;
+            double variance = sumSquares / rolls - mean * mean;
+            if (variance <= 0) {
+                return 0;
+            }
+            return (window[sides + 1] / (double) pairCount - mean * mean) / variance;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getSides() {
+            return sides;
+        }
+
+        public long getRolls() {
+            long rolls = 0;
+            for (LongAdder count : faceCounts) {
+                rolls += count.sum();
+            }
+            return rolls;
+        }
+
+        public synchronized double getLastChiSquareZ() {
+            return lastChiSquareZ;
+        }
+
+        public synchronized double getLastSerialZ() {
+            return lastSerialZ;
+        }
+    }
+
+    /**
+     * Batches one Dice's rolls before adding them to the shared Stream counters
+     */
+    public static class Recorder {
+        private final Stream stream;
+        private final long[] faces;
+        private long productSum;
+        private int previous; // 0 before the first roll, so that roll adds no product
+        private int pending;
+        private boolean flushed; // Whether an earlier batch's last roll pairs with this batch's first
+
+        private Recorder(Stream stream) {
+            this.stream = stream;
+            this.faces = new long[stream.sides];
+        }
+
+        /**
+         * Kept to a face count and one multiply-add: pair counts are derived in flush()
+         */
+        public void record(int value) {
+            faces[value - 1]++;
+            productSum += (long) previous * value;
+            previous = value;
+            if (++pending == FLUSH_ROLLS) {
+                flush();
+            }
+        }
+
+        /**
+         * Publishes pending rolls to the stream
+         */
+        public void flush() {
+            if (pending == 0) {
+                return;
+            }
+            // Every roll but the very first completes a pair
+            stream.add(faces, flushed ? pending : pending - 1, productSum);
+            Arrays.fill(faces, 0);
+            productSum = 0;
+            pending = 0;
+            flushed = true;
+        }
+
+        public Stream getStream() {
+            return stream;
+        }
+    }
+
+    /**
+     * @param windowChecks number of check intervals in the sliding window
+     * @param zThreshold   alert when a test's z-score exceeds this (4.0 is about 1 in 30,000 per check)
+     */
+    public DiceFairnessMonitor(int windowChecks, double zThreshold, Consumer<Alert> onAlert) {
+        if (windowChecks < 1) {
+            throw new IllegalArgumentException("Window must cover at least 1 check!");
+        }
+        this.windowChecks = windowChecks;
+        this.zThreshold = zThreshold;
+        this.onAlert = onAlert;
+    }
+
+    /**
+     * Creates a stream to attach to Dice via Dice.setMonitor()
+     */
+    public Stream stream(String name, int sides) {
+        if (sides < 2) {
+            throw new IllegalArgumentException("Dice must have at least 2 sides!");
+        }
+        Stream stream = new Stream(name, sides);
+        streams.add(stream);
+        return stream;
+    }
+
+    /**
+     * Tests every stream's current window
+     */
+    public void check() {
+        for (Stream stream : streams) {
+            stream.check();
+        }
+    }
+
+    /**
+     * Runs check() every intervalMillis on the given wheel until stop()
+     */
+    public synchronized void start(TimingWheel wheel, long intervalMillis) {
+        stop();
+        periodic = wheel.scheduleRepeating(this::check, intervalMillis);
+    }
+
+    public synchronized void stop() {
+        if (periodic != null) {
+            periodic.cancel();
+            periodic = null;
+        }
+    }
+
+    /**
+     * Wilson-Hilferty: maps a chi-square value with df degrees of freedom to a standard normal z-score
+     */
+    static double chiSquareToZ(double chiSquare, int df) {
+        double k = 2.0 / (9.0 * df);
+        return (Math.cbrt(chiSquare / df) - (1 - k)) / Math.sqrt(k);
+    }
+}
@@ -1,6 +1,13 @@
+import java.nio.*;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.*;
 
 public class Game {
+    private static final int MAX_QUICK_TURNS = 1000; // Prevent infinite games
+    private static final long QUICK_TURN_DELAY_MILLIS = 500;
+    private static final long INTERACTIVE_TURN_DELAY_MILLIS = 1000;
+    
     private final List<Player> players;
     private final Board board;
     private final Dice dice;
@@ -8,6 +15,16 @@ public class Game {
     private boolean gameEnded;
     private Player winner;
     
+    // Headless simulation statistics (playSilentGame)
+    private int turnCount;
+    private int snakeHits;
+    private int ladderHits;
+    private int overshoots;
+    
+    // Optional move event stream (spectators, journal, metrics)
+    private MoveEventRing moveEvents;
+    private long gameId;
+    
     public Game(List<Player> players, Board board, Dice dice) {
         if (players.size() < 2) {
             throw new IllegalArgumentException("Need at least 2 players to play!");
@@ -23,6 +40,97 @@ public class Game {
         assignSymbols();
     }
     
+    /**
+     * Restarts this game in place with the same players, board and dice,
+     * so simulations can reuse one Game instead of allocating a new one per run
+     */
+    public void reset(long seed) {
+        for (int i = 0; i < players.size(); i++) {
+            players.get(i).reset();
+        }
+        dice.setSeed(seed);
+        currentPlayerIndex = 0;
+        gameEnded = false;
+        winner = null;
+        turnCount = 0;
+        snakeHits = 0;
+        ladderHits = 0;
+        overshoots = 0;
+    }
+    
+    /**
+     * Publishes every move of this game to the ring, tagged with the given game id
+     * (pass null to stop). Many games may share one ring, from any threads.
+     */
+    public void setMoveEvents(MoveEventRing moveEvents, long gameId) {
+        this.moveEvents = moveEvents;
+        this.gameId = gameId;
+    }
+    
+    /**
+     * Writes the complete state of this game (players, turn, stats, dice state)
+     * in a compact binary form. The board and move event stream are not included.
+     */
+    public void writeTo(ByteBuffer out) {
+        out.put((byte) players.size());
+        for (int i = 0; i < players.size(); i++) {
+            Player player = players.get(i);
+            byte[] name = player.getName().getBytes(StandardCharsets.UTF_8);
+            out.putShort((short) name.length);
+            out.put(name);
+            out.putInt(player.getPosition());
+        }
+        out.put((byte) currentPlayerIndex);
+        out.put((byte) getWinnerIndex());
+        out.put((byte) (gameEnded ? 1 : 0));
+        out.putInt(turnCount);
+        out.putInt(snakeHits);
+        out.putInt(ladderHits);
+        out.putInt(overshoots);
+        out.putInt(dice.getSides());
+        out.putLong(dice.getState());
+    }
+    
+    /**
+     * Rebuilds a game written by writeTo(), on the board it was played on
+     */
+    public static Game readFrom(ByteBuffer in, Board board) {
+        int playerCount = in.get();
+        List<Player> players = new ArrayList<>(playerCount);
+        int[] positions = new int[playerCount];
+        for (int i = 0; i < playerCount; i++) {
+            byte[] name = new byte[in.getShort()];
+            in.get(name);
+            players.add(new Player(new String(name, StandardCharsets.UTF_8), '0')); // Symbol will be reassigned
+            positions[i] = in.getInt();
+        }
+        int currentPlayerIndex = in.get();
+        int winnerIndex = in.get();
+        boolean gameEnded = in.get() != 0;
+        int turnCount = in.getInt();
+        int snakeHits = in.getInt();
+        int ladderHits = in.getInt();
+        int overshoots = in.getInt();
+        Dice dice = new Dice(in.getInt());
+        dice.setState(in.getLong());
+        
+        Game game = new Game(players, board, dice);
+        for (int i = 0; i < playerCount; i++) {
+            game.players.get(i).setPosition(positions[i]);
+        }
+        game.currentPlayerIndex = currentPlayerIndex;
+        if (winnerIndex >= 0) {
+            game.winner = game.players.get(winnerIndex);
+            game.winner.setWinner(true);
+        }
+        game.gameEnded = gameEnded;
+        game.turnCount = turnCount;
+        game.snakeHits = snakeHits;
+        game.ladderHits = ladderHits;
+        game.overshoots = overshoots;
+        return game;
+    }
+    
     private void assignSymbols() {
         char[] symbols = {'1', '2', '3', '4', '5', '6', '7', '8', '9', '0'};
         
@@ -47,28 +155,25 @@ public class Game {
         board.displayBoard(players);
         
         Scanner scanner = new Scanner(System.in);
+        showPrompt(getCurrentPlayer());
+        TimingWheel.Timeout prompt = null;
         
         while (!gameEnded) {
             Player currentPlayer = getCurrentPlayer();
-            
-            System.out.println("\n" + "=".repeat(50));
-            System.out.println(currentPlayer.getName() + "'s turn!");
-            System.out.print("Press Enter to roll dice...");
             scanner.nextLine();
+            if (prompt != null) {
+                prompt.cancel(); // Enter pressed before the delayed prompt appeared
+            }
             
             takeTurn(currentPlayer);
+            turnCount++;
             
             if (checkWinCondition()) {
                 endGame();
             } else {
                 switchToNextPlayer();
-            }
-            
-            // Small delay for better game experience
-            try {
-                Thread.sleep(1000);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
+                // Small delay for better game experience
+                prompt = schedulePrompt(getCurrentPlayer(), INTERACTIVE_TURN_DELAY_MILLIS);
             }
         }
         
@@ -84,6 +189,7 @@ public class Game {
         
         int initialPosition = player.getPosition();
         int finalPosition = board.movePlayer(player, diceRoll);
+        publishMove(diceRoll, initialPosition, finalPosition);
         
         // Display movement summary
         if (finalPosition != initialPosition + diceRoll) {
@@ -102,7 +208,7 @@ public class Game {
     /**
      * Gets current player
      */
-    private Player getCurrentPlayer() {
+    public Player getCurrentPlayer() {
         return players.get(currentPlayerIndex);
     }
     
@@ -117,7 +223,8 @@ public class Game {
      * Checks if any player has won
      */
     private boolean checkWinCondition() {
-        for (Player player : players) {
+        for (int i = 0; i < players.size(); i++) {
+            Player player = players.get(i);
             if (board.hasPlayerWon(player)) {
                 winner = player;
                 player.setWinner(true);
@@ -167,16 +274,49 @@ public class Game {
     }
     
     /**
-     * Quick game option - auto-play without manual input
+     * Quick game option - auto-play without manual input.
+     * Blocks the caller until the game is over (for the console app);
+     * hosted code should use playQuickGameAsync() instead.
      */
     public void playQuickGame() {
+        try {
+            playQuickGameAsync(TimingWheel.getDefault(), ForkJoinPool.commonPool()).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+    
+    /**
+     * Quick game that holds no thread while it waits: the pacer only times the
+     * gap between turns, and each turn (console output included) runs on the
+     * executor. The future completes once the final results are shown, or
+     * exceptionally if a turn fails.
+     */
+    public CompletableFuture<Game> playQuickGameAsync(TimingWheel pacer, Executor executor) {
         System.out.println("🎲 Quick Snake and Ladders Game! 🎲");
         System.out.println("Auto-playing...");
         
-        int turnCount = 0;
-        final int MAX_TURNS = 1000; // Prevent infinite games
-        
-        while (!gameEnded && turnCount < MAX_TURNS) {
+        CompletableFuture<Game> finished = new CompletableFuture<>();
+        runQuickTurn(pacer, executor, finished);
+        return finished;
+    }
+    
+    private void runQuickTurn(TimingWheel pacer, Executor executor, CompletableFuture<Game> finished) {
+        try {
+            executor.execute(() -> playQuickTurn(pacer, executor, finished));
+        } catch (RuntimeException e) {
+            finished.completeExceptionally(e); // e.g. executor shut down
+        }
+    }
+    
+    /**
+     * Plays one quick-game turn, then schedules the next one on the pacer
+     */
+    private void playQuickTurn(TimingWheel pacer, Executor executor, CompletableFuture<Game> finished) {
+        try {
             Player currentPlayer = getCurrentPlayer();
             System.out.println("\nTurn " + (turnCount + 1) + ": " + currentPlayer.getName());
             
@@ -189,15 +329,20 @@ public class Game {
                 switchToNextPlayer();
             }
             
-            // Brief pause for readability
-            try {
-                Thread.sleep(500);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
+            if (gameEnded || turnCount >= MAX_QUICK_TURNS) {
+                finishQuickGame();
+                finished.complete(this);
+            } else {
+                // Brief pause for readability
+                pacer.schedule(() -> runQuickTurn(pacer, executor, finished), QUICK_TURN_DELAY_MILLIS);
             }
+        } catch (RuntimeException e) {
+            finished.completeExceptionally(e);
         }
-        
-        if (turnCount >= MAX_TURNS) {
+    }
+    
+    private void finishQuickGame() {
+        if (!gameEnded) {
             System.out.println("Game ended due to maximum turn limit reached.");
             // Find player closest to winning
             winner = players.stream()
@@ -209,11 +354,130 @@ public class Game {
         displayFinalResults();
     }
     
+    /**
+     * Shows the roll prompt after a short delay, without holding this thread:
+     * the prompt is printed from the shared timing wheel and cancelled if the
+     * player presses Enter first
+     */
+    private static TimingWheel.Timeout schedulePrompt(Player player, long delayMillis) {
+        return TimingWheel.getDefault().schedule(() -> showPrompt(player), delayMillis);
+    }
+    
+    private static void showPrompt(Player player) {
+        System.out.println("\n" + "=".repeat(50));
+        System.out.println(player.getName() + "'s turn!");
+        System.out.print("Press Enter to roll dice...");
+    }
+    
+    /**
+     * Headless auto-play for simulations - same rules and turn limit handling
+     * as playQuickGame(), but without console output or pacing
+     */
+    public void playSilentGame(int maxTurns) {
+        while (!gameEnded && turnCount < maxTurns) {
+            playTurn();
+        }
+        
+        if (!gameEnded) {
+            // Turn limit reached: player closest to winning takes it
+            winner = players.get(0);
+            for (int i = 1; i < players.size(); i++) {
+                if (players.get(i).getPosition() > winner.getPosition()) {
+                    winner = players.get(i);
+                }
+            }
+            winner.setWinner(true);
+        }
+    }
+    
+    /**
+     * Plays the current player's turn silently and passes the dice on -
+     * for hosted games driven by player input or turn timers (see TurnScheduler)
+     */
+    public void playTurn() {
+        if (gameEnded) {
+            throw new IllegalStateException("Game has already ended!");
+        }
+        takeSilentTurn(getCurrentPlayer());
+        turnCount++;
+        
+        if (checkWinCondition()) {
+            gameEnded = true;
+        } else {
+            switchToNextPlayer();
+        }
+    }
+    
+    /**
+     * Current player loses their turn without rolling
+     */
+    public void forfeitTurn() {
+        if (gameEnded) {
+            throw new IllegalStateException("Game has already ended!");
+        }
+        turnCount++;
+        switchToNextPlayer();
+    }
+    
+    /**
+     * Silent version of takeTurn() that records snake/ladder/overshoot counts
+     */
+    private void takeSilentTurn(Player player) {
+        int roll = dice.roll();
+        int initialPosition = player.getPosition();
+        int target = initialPosition + roll;
+        if (target > board.getWinningPosition()) {
+            overshoots++;
+            publishMove(roll, initialPosition, initialPosition);
+            return;
+        }
+        
+        int finalPosition = board.getDestination(target);
+        if (finalPosition < target) {
+            snakeHits++;
+        } else if (finalPosition > target) {
+            ladderHits++;
+        }
+        player.setPosition(finalPosition);
+        publishMove(roll, initialPosition, finalPosition);
+    }
+    
+    private void publishMove(int roll, int from, int to) {
+        if (moveEvents == null) {
+            return;
+        }
+        int landed = from + roll;
+        MoveEvent.Kind kind;
+        if (landed > board.getWinningPosition()) {
+            kind = MoveEvent.Kind.OVERSHOOT;
+        } else if (to < landed) {
+            kind = MoveEvent.Kind.SNAKE;
+        } else if (to > landed) {
+            kind = MoveEvent.Kind.LADDER;
+        } else {
+            kind = MoveEvent.Kind.MOVE;
+        }
+        moveEvents.publish(gameId, turnCount + 1, currentPlayerIndex, roll, from, to, kind,
+                           to >= board.getWinningPosition());
+    }
+    
     // Getters for testing
     public List<Player> getPlayers() {
         return new ArrayList<>(players);
     }
     
+    public int getPlayerCount() {
+        return players.size();
+    }
+    
+    public Board getBoard() {
+        return board;
+    }
+    
+    public Dice getDice() {
+        return dice;
+    }
+    
     public Player getWinner() {
         return winner;
     }
@@ -221,4 +485,27 @@ public class Game {
     public boolean isGameEnded() {
         return gameEnded;
     }
+    
+    /**
+     * Returns the winner's seat (0-based turn order), or -1 if there is none yet
+     */
+    public int getWinnerIndex() {
+        return players.indexOf(winner);
+    }
+    
+    public int getTurnCount() {
+        return turnCount;
+    }
+    
+    public int getSnakeHits() {
+        return snakeHits;
+    }
+    
+    public int getLadderHits() {
+        return ladderHits;
+    }
+    
+    public int getOvershoots() {
+        return overshoots;
+    }
 }
\ No newline at end of file
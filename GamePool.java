@@ -0,0 +1,69 @@
+import java.util.*;
+
+/**
+ * Per-thread pool of ready-to-play games on one board.
+ * acquire() hands out a game reset to the given seed; release() returns it.
+ * Games never cross threads, so no locking is needed and, once each thread's
+ * pool is warm, running games allocates nothing.
+ */
+public class GamePool {
+    private final Board board;
+    private final int seats;
+    private final int diceSides;
+    private final int maxIdlePerThread;
+    private final ThreadLocal<ArrayDeque<Game>> idleGames;
+
+    public GamePool(Board board, int seats) {
+        this(board, seats, 6, 16);
+    }
+
+    public GamePool(Board board, int seats, int diceSides, int maxIdlePerThread) {
+        if (seats < 2) {
+            throw new IllegalArgumentException("Need at least 2 players to play!");
+        }
+        this.board = board;
+        this.seats = seats;
+        this.diceSides = diceSides;
+        this.maxIdlePerThread = maxIdlePerThread;
+        this.idleGames = ThreadLocal.withInitial(() -> new ArrayDeque<>(maxIdlePerThread));
+    }
+
+    /**
+     * Returns a game reset to the given seed, reusing an idle one if available
+     */
+    public Game acquire(long seed) {
+        Game game = idleGames.get().pollFirst();
+        if (game == null) {
+            game = newGame();
+        }
+        game.reset(seed);
+        return game;
+    }
+
+    /**
+     * Returns a game to the calling thread's pool (dropped if the pool is full)
+     */
+    public void release(Game game) {
+        game.setMoveEvents(null, 0); // Don't leak the last session's event stream
+        ArrayDeque<Game> idle = idleGames.get();
+        if (idle.size() < maxIdlePerThread) {
+            idle.addFirst(game);
+        }
+    }
+
+    private Game newGame() {
+        List<Player> players = new ArrayList<>(seats);
+        for (int i = 1; i <= seats; i++) {
+            players.add(new Player("Player" + i, '0')); // Symbol will be reassigned by Game class
+        }
+        return new Game(players, board, new Dice(diceSides));
+    }
+
+    public Board getBoard() {
+        return board;
+    }
+
+    public int getSeats() {
+        return seats;
+    }
+}
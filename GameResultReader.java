@@ -0,0 +1,123 @@
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.file.*;
+import java.util.function.*;
+
+/**
+ * Reads files written by GameResultSink. Each block header stores the byte
+ * length of every column, so a single column can be scanned by reading only
+ * its own bytes and seeking past the others.
+ */
+public class GameResultReader implements Closeable {
+    private final FileChannel channel;
+    private final ByteBuffer header;
+    private ByteBuffer columnBuffer;
+
+    public GameResultReader(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.header = ByteBuffer.allocate(GameResultSink.BLOCK_HEADER_BYTES);
+        this.columnBuffer = ByteBuffer.allocate(64 * 1024);
+
+        ByteBuffer fileHeader = ByteBuffer.allocate(12);
+        readFully(fileHeader, 0);
+        fileHeader.flip();
+        if (fileHeader.getInt() != GameResultSink.MAGIC) {
+            throw new IOException("Not a game result file: " + path);
+        }
+        int version = fileHeader.getInt();
+        if (version != GameResultSink.VERSION) {
+            throw new IOException("Unsupported game result file version " + version);
+        }
+        int columns = fileHeader.getInt();
+        if (columns != GameResultSink.COLUMNS) {
+            throw new IOException("Expected " + GameResultSink.COLUMNS + " columns but file has " + columns);
+        }
+    }
+
+    /**
+     * Passes every value of one column, in row order, to the consumer
+     */
+    public void scanColumn(GameResultSink.Column column, LongConsumer consumer) throws IOException {
+        int index = column.ordinal();
+        long position = 12;
+        long fileSize = channel.size();
+
+        while (position < fileSize) {
+            header.clear();
+            readFully(header, position);
+            header.flip();
+
+            int rows = header.getInt();
+            long columnStart = position + GameResultSink.BLOCK_HEADER_BYTES;
+            long blockBytes = 0;
+            int columnBytes = 0;
+            for (int c = 0; c < GameResultSink.COLUMNS; c++) {
+                int length = header.getInt();
+                if (c < index) {
+                    columnStart += length;
+                } else if (c == index) {
+                    columnBytes = length;
+                }
+                blockBytes += length;
+            }
+
+            ByteBuffer buffer = columnBuffer(columnBytes);
+            readFully(buffer, columnStart);
+            buffer.flip();
+
+            long previous = 0;
+            for (int i = 0; i < rows; i++) {
+                long zigzag = readVarLong(buffer);
+                previous += (zigzag >>> 1) ^ -(zigzag & 1);
+                consumer.accept(previous);
+            }
+
+            position += GameResultSink.BLOCK_HEADER_BYTES + blockBytes;
+        }
+    }
+
+    /**
+     * Sums one column - handy for quick totals such as snake hits
+     */
+    public long sumColumn(GameResultSink.Column column) throws IOException {
+        long[] total = new long[1];
+        scanColumn(column, value -> total[0] += value);
+        return total[0];
+    }
+
+    private ByteBuffer columnBuffer(int bytes) {
+        if (columnBuffer.capacity() < bytes) {
+            columnBuffer = ByteBuffer.allocate(Math.max(bytes, columnBuffer.capacity() * 2));
+        }
+        columnBuffer.clear().limit(bytes);
+        return columnBuffer;
+    }
+
+    static long readVarLong(ByteBuffer buffer) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new EOFException("Truncated game result file");
+            }
+            position += read;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
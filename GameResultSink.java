@@ -0,0 +1,228 @@
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.file.*;
+import java.util.concurrent.*;
+
+/**
+ * Streams per-game result rows to a columnar file.
+ *
+ * Rows are collected into fixed-size blocks; a background thread encodes each
+ * column of a block as zigzag varint deltas and writes it through a FileChannel.
+ * Block buffers are recycled, and append() blocks once every buffer is waiting
+ * to be written, which slows the simulation down to the disk's pace.
+ *
+ * File layout:
+ *   header: magic "SLGR", int version, int column count
+ *   block:  int row count, int byte length per column, then each column's bytes
+ */
+public class GameResultSink implements Closeable {
+    static final int MAGIC = 0x534C4752; // "SLGR"
+    static final int VERSION = 1;
+
+    /**
+     * Per-game columns, in file order
+     */
+    public enum Column {
+        SEED, BOARD_ID, SEATS, WINNER_SEAT, TURNS, SNAKE_HITS, LADDER_HITS, OVERSHOOTS
+    }
+
+    static final int COLUMNS = Column.values().length;
+    static final int BLOCK_HEADER_BYTES = 4 + 4 * COLUMNS;
+
+    private final FileChannel channel;
+    private final int blockRows;
+    private final BlockingQueue<Block> freeBlocks;
+    private final BlockingQueue<Block> fullBlocks;
+    private final ByteBuffer encodeBuffer;
+    private final Thread flusher;
+    private Block current;
+    private volatile IOException failure;
+    private boolean closed;
+
+    // Marks the end of the stream for the flusher thread
+    private static final Block END = new Block(0);
+
+    /**
+     * Reusable column buffers for one block of rows
+     */
+    private static class Block {
+        final long[][] columns;
+        int rows;
+
+        Block(int capacity) {
+            columns = new long[COLUMNS][capacity];
+        }
+    }
+
+    public GameResultSink(Path path) throws IOException {
+        this(path, 64 * 1024, 4);
+    }
+
+    /**
+     * @param blockRows     rows per column block
+     * @param pendingBlocks blocks that may be queued for writing before append() blocks
+     */
+    public GameResultSink(Path path, int blockRows, int pendingBlocks) throws IOException {
+        if (blockRows < 1 || pendingBlocks < 1) {
+            throw new IllegalArgumentException("Block rows and pending blocks must be positive!");
+        }
+
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        this.blockRows = blockRows;
+        this.freeBlocks = new ArrayBlockingQueue<>(pendingBlocks + 1);
+        this.fullBlocks = new ArrayBlockingQueue<>(pendingBlocks + 2);
+        for (int i = 0; i <= pendingBlocks; i++) {
+            freeBlocks.add(new Block(blockRows));
+        }
+        // Worst case: 10 bytes per varint
+        this.encodeBuffer = ByteBuffer.allocateDirect(BLOCK_HEADER_BYTES + COLUMNS * blockRows * 10)
+                .order(ByteOrder.BIG_ENDIAN);
+
+        ByteBuffer header = ByteBuffer.allocate(12);
+        header.putInt(MAGIC).putInt(VERSION).putInt(COLUMNS).flip();
+        writeFully(header);
+
+        this.current = freeBlocks.poll();
+        this.flusher = new Thread(this::flushLoop, "game-result-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * Records the outcome of a silently played game
+     */
+    public void append(long seed, int boardId, Game game) throws IOException {
+        append(seed, boardId, game.getPlayerCount(), game.getWinnerIndex(), game.getTurnCount(),
+               game.getSnakeHits(), game.getLadderHits(), game.getOvershoots());
+    }
+
+    public void append(long seed, int boardId, int seats, int winnerSeat, int turns,
+                       int snakeHits, int ladderHits, int overshoots) throws IOException {
+        if (closed) {
+            throw new IOException("Sink is closed");
+        }
+        checkFailure();
+
+        long[][] columns = current.columns;
+        int row = current.rows;
+        columns[0][row] = seed;
+        columns[1][row] = boardId;
+        columns[2][row] = seats;
+        columns[3][row] = winnerSeat;
+        columns[4][row] = turns;
+        columns[5][row] = snakeHits;
+        columns[6][row] = ladderHits;
+        columns[7][row] = overshoots;
+        current.rows = row + 1;
+
+        if (current.rows == blockRows) {
+            submitCurrent();
+        }
+    }
+
+    /**
+     * Hands the current block to the flusher and waits for a free one (backpressure)
+     */
+    private void submitCurrent() throws IOException {
+        try {
+            fullBlocks.put(current);
+            current = freeBlocks.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the result flusher");
+        }
+        current.rows = 0;
+        checkFailure();
+    }
+
+    private void flushLoop() {
+        try {
+            while (true) {
+                Block block = fullBlocks.take();
+                if (block == END) {
+                    return;
+                }
+                if (failure == null) {
+                    try {
+                        writeBlock(block);
+                    } catch (IOException e) {
+                        failure = e;
+                    }
+                }
+                freeBlocks.put(block);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writeBlock(Block block) throws IOException {
+        int rows = block.rows;
+        ByteBuffer buffer = encodeBuffer;
+        buffer.clear();
+        buffer.putInt(rows);
+        buffer.position(BLOCK_HEADER_BYTES);
+
+        for (int c = 0; c < COLUMNS; c++) {
+            int start = buffer.position();
+            long[] values = block.columns[c];
+            long previous = 0;
+            for (int i = 0; i < rows; i++) {
+                long delta = values[i] - previous;
+                previous = values[i];
+                writeVarLong(buffer, (delta << 1) ^ (delta >> 63)); // Zigzag
+            }
+            buffer.putInt(4 + 4 * c, buffer.position() - start);
+        }
+
+        buffer.flip();
+        writeFully(buffer);
+    }
+
+    static void writeVarLong(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private void checkFailure() throws IOException {
+        IOException e = failure;
+        if (e != null) {
+            throw new IOException("Writing game results failed", e);
+        }
+    }
+
+    /**
+     * Writes any partial block, waits for the flusher and closes the file
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (current.rows > 0) {
+                fullBlocks.put(current);
+            }
+            fullBlocks.put(END);
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while closing the result sink");
+        } finally {
+            channel.close();
+        }
+        checkFailure();
+    }
+}
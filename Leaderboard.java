@@ -0,0 +1,441 @@
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.*;
+
+/**
+ * Lifetime statistics and rankings across any number of finished games.
+ *
+ * record() updates per-player counters in lock-striped shards keyed by player
+ * name, so games finishing on many threads rarely contend. Changed players are
+ * remembered per shard, and merge() - run periodically on a TimingWheel, or on
+ * demand - moves their latest stats into the rank index, an indexable skip list
+ * ordered best first whose links count the entries they skip:
+ *   - getTop(n) walks the first n entries
+ *   - getRank(name) sums the skipped counts along the search path
+ * Adding, removing and ranking a player are O(log n) expected, however many
+ * players share a rating. Queries hold a read lock that merge() takes for
+ * writing while it applies a batch, so they never see a half-applied merge.
+ * Rankings are therefore as of the last merge; getStats() is always current.
+ *
+ * Ratings are Elo-style: the winner of an n-player game beats each of the other
+ * players, with K split across the n-1 pairings.
+ */
+public class Leaderboard {
+    public static final double INITIAL_RATING = 1500.0;
+    private static final double K_FACTOR = 32.0;
+
+    /**
+     * Best first: rating, then wins, then fewer games, then name
+     */
+    private static final Comparator<PlayerStats> RANK_ORDER = (a, b) -> {
+        int c = Double.compare(b.rating, a.rating);
+        if (c == 0) {
+            c = Long.compare(b.wins, a.wins);
+        }
+        if (c == 0) {
+            c = Long.compare(a.gamesPlayed, b.gamesPlayed);
+        }
+        return c != 0 ? c : a.name.compareTo(b.name);
+    };
+
+    private final Shard[] shards;
+    private final int shardMask;
+    private final Object mergeLock = new Object();
+    private final RankIndex ranked = new RankIndex();
+    private final ConcurrentHashMap<String, PlayerStats> indexed = new ConcurrentHashMap<>(); // What ranked holds per player
+    private final ReadWriteLock rankLock = new ReentrantReadWriteLock(); // Guards ranked and its agreement with indexed
+    private TimingWheel.Repeating periodic;
+
+    /**
+     * Immutable snapshot of one player's lifetime statistics
+     */
+    public static class PlayerStats {
+        private final String name;
+        private final long gamesPlayed;
+        private final long wins;
+        private final long winningTurns;
+        private final double rating;
+
+        PlayerStats(String name, long gamesPlayed, long wins, long winningTurns, double rating) {
+            this.name = name;
+            this.gamesPlayed = gamesPlayed;
+            this.wins = wins;
+            this.winningTurns = winningTurns;
+            this.rating = rating;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getGamesPlayed() {
+            return gamesPlayed;
+        }
+
+        public long getWins() {
+            return wins;
+        }
+
+        /**
+         * Average game turn on which this player won (NaN without wins)
+         */
+        public double getAverageFinishTurn() {
+            return wins == 0 ? Double.NaN : (double) winningTurns / wins;
+        }
+
+        public double getRating() {
+            return rating;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: rating %.1f, %d/%d wins, avg finish turn %.1f",
+                                 name, rating, wins, gamesPlayed, getAverageFinishTurn());
+        }
+    }
+
+    /**
+     * Mutable counters for one player, guarded by its shard
+     */
+    private static class Entry {
+        private final String name;
+        private long gamesPlayed;
+        private long wins;
+        private long winningTurns;
+        private double rating = INITIAL_RATING;
+        private boolean dirty;
+
+        Entry(String name) {
+            this.name = name;
+        }
+
+        PlayerStats snapshot() {
+            return new PlayerStats(name, gamesPlayed, wins, winningTurns, rating);
+        }
+    }
+
+    /**
+     * Indexable skip list in RANK_ORDER (as in Redis sorted sets): span[i] is how
+     * many entries next[i] moves forward, so an entry's position is the sum of
+     * the spans on its search path. Not thread-safe; guarded by rankLock.
+     */
+    private static class RankIndex {
+        private static final int MAX_LEVEL = 16; // Enough for 4^16 entries at p = 1/4
+
+        private final Node head = new Node(null, MAX_LEVEL);
+        private int level = 1;
+        private int size;
+
+        private static class Node {
+            private final PlayerStats stats;
+            private final Node[] next;
+            private final int[] span;
+
+            Node(PlayerStats stats, int level) {
+                this.stats = stats;
+                this.next = new Node[level];
+                this.span = new int[level];
+            }
+        }
+
+        /**
+         * Adds entries given in RANK_ORDER. Each search resumes from the previous
+         * one's path, so a large sorted batch mostly touches neighbouring nodes.
+         */
+        void addAll(List<PlayerStats> sorted) {
+            Node[] update = new Node[MAX_LEVEL];
+            int[] position = new int[MAX_LEVEL]; // Position of update[i] (head = 0)
+            for (PlayerStats stats : sorted) {
+                findPath(stats, update, position);
+                int nodeLevel = randomLevel();
+                for (int i = level; i < nodeLevel; i++) {
+                    update[i] = head;
+                    position[i] = 0;
+                    head.span[i] = size;
+                }
+                level = Math.max(level, nodeLevel);
+
+                Node node = new Node(stats, nodeLevel);
+                for (int i = 0; i < nodeLevel; i++) {
+                    node.next[i] = update[i].next[i];
+                    update[i].next[i] = node;
+                    node.span[i] = update[i].span[i] - (position[0] - position[i]);
+                    update[i].span[i] = position[0] - position[i] + 1;
+                }
+                for (int i = nodeLevel; i < level; i++) {
+                    update[i].span[i]++; // Links over the new node now skip one more
+                }
+                size++;
+            }
+        }
+
+        /**
+         * Removes entries given in RANK_ORDER, all of which must be in the index
+         */
+        void removeAll(List<PlayerStats> sorted) {
+            Node[] update = new Node[MAX_LEVEL];
+            int[] position = new int[MAX_LEVEL];
+            for (PlayerStats stats : sorted) {
+                findPath(stats, update, position);
+                Node node = update[0].next[0];
+                for (int i = 0; i < level; i++) {
+                    if (update[i].next[i] == node) {
+                        update[i].span[i] += node.span[i] - 1;
+                        update[i].next[i] = node.next[i];
+                    } else {
+                        update[i].span[i]--;
+                    }
+                }
+                while (level > 1 && head.next[level - 1] == null) {
+                    level--;
+                }
+                size--;
+            }
+        }
+
+        /**
+         * Sets update[i] to the last node before stats on level i, and position[i]
+         * to its position. Starts from the previous path left in update/position
+         * where that is further along: nodes before the last key kept their positions.
+         */
+        private void findPath(PlayerStats stats, Node[] update, int[] position) {
+            Node x = head;
+            int pos = 0;
+            for (int i = level - 1; i >= 0; i--) {
+                if (update[i] != null && position[i] > pos) {
+                    x = update[i];
+                    pos = position[i];
+                }
+                while (x.next[i] != null && RANK_ORDER.compare(x.next[i].stats, stats) < 0) {
+                    pos += x.span[i];
+                    x = x.next[i];
+                }
+                update[i] = x;
+                position[i] = pos;
+            }
+        }
+
+        /**
+         * Entries ranked ahead of stats
+         */
+        int countBetter(PlayerStats stats) {
+            int better = 0;
+            Node x = head;
+            for (int i = level - 1; i >= 0; i--) {
+                while (x.next[i] != null && RANK_ORDER.compare(x.next[i].stats, stats) < 0) {
+                    better += x.span[i];
+                    x = x.next[i];
+                }
+            }
+            return better;
+        }
+
+        List<PlayerStats> first(int n) {
+            List<PlayerStats> top = new ArrayList<>(Math.min(n, size));
+            for (Node x = head.next[0]; x != null && top.size() < n; x = x.next[0]) {
+                top.add(x.stats);
+            }
+            return top;
+        }
+
+        /**
+         * 1 + one level per pair of zero bits, i.e. each level with probability 1/4
+         */
+        private static int randomLevel() {
+            int bits = ThreadLocalRandom.current().nextInt();
+            int nodeLevel = 1;
+            while ((bits & 3) == 0 && nodeLevel < MAX_LEVEL) {
+                nodeLevel++;
+                bits >>>= 2;
+            }
+            return nodeLevel;
+        }
+    }
+
+    private static class Shard {
+        private final Map<String, Entry> players = new HashMap<>();
+        private List<Entry> dirty = new ArrayList<>();
+
+        Entry entry(String name) {
+            return players.computeIfAbsent(name, Entry::new);
+        }
+    }
+
+    public Leaderboard() {
+        this(64);
+    }
+
+    /**
+     * @param shardCount number of lock stripes, rounded up to a power of two
+     */
+    public Leaderboard(int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("Need at least 1 shard!");
+        }
+        int count = 1;
+        while (count < shardCount) {
+            count <<= 1;
+        }
+        this.shards = new Shard[count];
+        for (int i = 0; i < count; i++) {
+            shards[i] = new Shard();
+        }
+        this.shardMask = count - 1;
+    }
+
+    private Shard shardFor(String name) {
+        int h = name.hashCode();
+        return shards[(h ^ (h >>> 16)) & shardMask];
+    }
+
+    /**
+     * Adds a finished game (or one won at the turn limit) to every seated player's statistics
+     */
+    public void record(Game game) {
+        int winnerIndex = game.getWinnerIndex();
+        if (winnerIndex < 0) {
+            throw new IllegalArgumentException("Only games with a winner can be recorded!");
+        }
+        List<Player> players = game.getPlayers();
+        int n = players.size();
+
+        // Read current ratings (one shard at a time; concurrent games may interleave)
+        double[] ratings = new double[n];
+        for (int i = 0; i < n; i++) {
+            String name = players.get(i).getName();
+            Shard shard = shardFor(name);
+            synchronized (shard) {
+                ratings[i] = shard.entry(name).rating;
+            }
+        }
+
+        double k = K_FACTOR / (n - 1);
+        double[] deltas = new double[n];
+        for (int i = 0; i < n; i++) {
+            if (i != winnerIndex) {
+                double expected = 1.0 / (1.0 + Math.pow(10.0, (ratings[i] - ratings[winnerIndex]) / 400.0));
+                double change = k * (1.0 - expected);
+                deltas[winnerIndex] += change;
+                deltas[i] -= change;
+            }
+        }
+
+        for (int i = 0; i < n; i++) {
+            String name = players.get(i).getName();
+            Shard shard = shardFor(name);
+            synchronized (shard) {
+                Entry entry = shard.entry(name);
+                entry.gamesPlayed++;
+                if (i == winnerIndex) {
+                    entry.wins++;
+                    entry.winningTurns += game.getTurnCount();
+                }
+                entry.rating += deltas[i];
+                if (!entry.dirty) {
+                    entry.dirty = true;
+                    shard.dirty.add(entry);
+                }
+            }
+        }
+    }
+
+    /**
+     * Moves every player changed since the last merge into the rank index
+     * and returns how many there were
+     */
+    public int merge() {
+        synchronized (mergeLock) {
+            List<PlayerStats> changed = new ArrayList<>();
+            for (Shard shard : shards) {
+                synchronized (shard) {
+                    for (Entry entry : shard.dirty) {
+                        entry.dirty = false;
+                        changed.add(entry.snapshot());
+                    }
+                    shard.dirty = new ArrayList<>();
+                }
+            }
+
+            // Only merge() changes indexed, so the replaced stats can be found before locking
+            List<PlayerStats> replaced = new ArrayList<>();
+            for (PlayerStats stats : changed) {
+                PlayerStats old = indexed.get(stats.getName());
+                if (old != null) {
+                    replaced.add(old);
+                }
+            }
+            changed.sort(RANK_ORDER);
+            replaced.sort(RANK_ORDER);
+
+            rankLock.writeLock().lock();
+            try {
+                ranked.removeAll(replaced);
+                ranked.addAll(changed);
+                for (PlayerStats stats : changed) {
+                    indexed.put(stats.getName(), stats);
+                }
+            } finally {
+                rankLock.writeLock().unlock();
+            }
+            return changed.size();
+        }
+    }
+
+    /**
+     * Runs merge() every intervalMillis on the given wheel until stop()
+     */
+    public synchronized void start(TimingWheel wheel, long intervalMillis) {
+        stop();
+        periodic = wheel.scheduleRepeating(this::merge, intervalMillis);
+    }
+
+    public synchronized void stop() {
+        if (periodic != null) {
+            periodic.cancel();
+            periodic = null;
+        }
+    }
+
+    /**
+     * The best n players as of the last merge
+     */
+    public List<PlayerStats> getTop(int n) {
+        rankLock.readLock().lock();
+        try {
+            return ranked.first(n);
+        } finally {
+            rankLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 1-based rank as of the last merge, or -1 if the player isn't ranked yet
+     */
+    public int getRank(String name) {
+        rankLock.readLock().lock();
+        try {
+            PlayerStats stats = indexed.get(name);
+            return stats == null ? -1 : ranked.countBetter(stats) + 1;
+        } finally {
+            rankLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Current statistics, including games not merged yet (null if never recorded)
+     */
+    public PlayerStats getStats(String name) {
+        Shard shard = shardFor(name);
+        synchronized (shard) {
+            Entry entry = shard.players.get(name);
+            return entry == null ? null : entry.snapshot();
+        }
+    }
+
+    /**
+     * Players in the rank index
+     */
+    public int getRankedCount() {
+        return indexed.size();
+    }
+}
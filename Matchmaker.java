@@ -0,0 +1,201 @@
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
+
+/**
+ * Groups a continuous stream of arriving players into game tables.
+ *
+ * join() only appends to a lock-free ConcurrentLinkedQueue, so any number of
+ * threads can add players without contention. A single matching pass
+ * (formTables(), run periodically on a TimingWheel) drains the queue in
+ * arrival order and starts a table as soon as the preferred number of
+ * players is waiting, or a smaller one (at least 2) once the longest-waiting
+ * player has waited maxWaitMillis. Each table is seated on the board layout
+ * current at that moment (e.g. from a VersionedBoard). Metrics only count
+ * tables that onTableFormed accepted.
+ */
+public class Matchmaker {
+    private final Supplier<Board> boards;
+    private final int preferredSize;
+    private final long maxWaitMillis;
+    private final Consumer<Game> onTableFormed;
+    private final LongSupplier clock;
+    private final Queue<Arrival> arrivals;
+    private final ArrayDeque<Arrival> waiting; // Guarded by this
+
+    // Wait-time metrics (guarded by this)
+    private final long[] waitHistogram; // Bucket i counts waits in [2^(i-1), 2^i) ms
+    private long playersMatched;
+    private long tablesFormed;
+    private long totalWaitMillis;
+    private long maxWaitSeenMillis;
+
+    private volatile TimingWheel.Repeating periodic;
+
+    private static class Arrival {
+        final Player player;
+        final long joinedMillis;
+
+        Arrival(Player player, long joinedMillis) {
+            this.player = player;
+            this.joinedMillis = joinedMillis;
+        }
+    }
+
+    public Matchmaker(Board board, int preferredSize, long maxWaitMillis, Consumer<Game> onTableFormed) {
+        this(() -> board, preferredSize, maxWaitMillis, onTableFormed);
+    }
+
+    public Matchmaker(Supplier<Board> boards, int preferredSize, long maxWaitMillis, Consumer<Game> onTableFormed) {
+        this(boards, preferredSize, maxWaitMillis, onTableFormed, () -> System.nanoTime() / 1_000_000);
+    }
+
+    public Matchmaker(Supplier<Board> boards, int preferredSize, long maxWaitMillis,
+                      Consumer<Game> onTableFormed, LongSupplier clockMillis) {
+        if (preferredSize < 2 || preferredSize > 8) {
+            throw new IllegalArgumentException("Table size must be between 2 and 8 players!");
+        }
+        this.boards = boards;
+        this.preferredSize = preferredSize;
+        this.maxWaitMillis = maxWaitMillis;
+        this.onTableFormed = onTableFormed;
+        this.clock = clockMillis;
+        this.arrivals = new ConcurrentLinkedQueue<>();
+        this.waiting = new ArrayDeque<>();
+        this.waitHistogram = new long[64];
+    }
+
+    /**
+     * Adds a player to the queue; safe to call from any thread
+     */
+    public void join(Player player) {
+        arrivals.offer(new Arrival(player, clock.getAsLong()));
+    }
+
+    public void join(String name) {
+        join(new Player(name, '0')); // Symbol will be reassigned by Game class
+    }
+
+    /**
+     * Runs one matching pass and returns the number of tables started.
+     * onTableFormed runs outside the matchmaker's lock; if it throws, the
+     * players of that table and any later ones go back to the front of the
+     * queue (keeping their join times) and the exception is rethrown.
+     */
+    public int formTables() {
+        List<List<Arrival>> tables = new ArrayList<>();
+        long now;
+        Board board;
+        synchronized (this) {
+            Arrival arrival;
+            while ((arrival = arrivals.poll()) != null) {
+                waiting.addLast(arrival);
+            }
+
+            now = clock.getAsLong();
+            board = boards.get();
+            while (waiting.size() >= preferredSize
+                    || (waiting.size() >= 2 && now - waiting.peekFirst().joinedMillis >= maxWaitMillis)) {
+                int tableSize = Math.min(preferredSize, waiting.size());
+                List<Arrival> table = new ArrayList<>(tableSize);
+                for (int i = 0; i < tableSize; i++) {
+                    table.add(waiting.pollFirst());
+                }
+                tables.add(table);
+            }
+        }
+
+        for (int t = 0; t < tables.size(); t++) {
+            List<Arrival> table = tables.get(t);
+            List<Player> players = new ArrayList<>(table.size());
+            for (Arrival seated : table) {
+                players.add(seated.player);
+            }
+            try {
+                onTableFormed.accept(new Game(players, board, new Dice()));
+            } catch (RuntimeException e) {
+                requeue(tables.subList(t, tables.size()));
+                throw e;
+            }
+            recordTable(table, now);
+        }
+        return tables.size();
+    }
+
+    private synchronized void requeue(List<List<Arrival>> tables) {
+        for (int t = tables.size() - 1; t >= 0; t--) {
+            List<Arrival> table = tables.get(t);
+            for (int i = table.size() - 1; i >= 0; i--) {
+                waiting.addFirst(table.get(i));
+            }
+        }
+    }
+
+    private synchronized void recordTable(List<Arrival> table, long now) {
+        tablesFormed++;
+        for (Arrival seated : table) {
+            recordWait(now - seated.joinedMillis);
+        }
+    }
+
+    private void recordWait(long waitMillis) {
+        playersMatched++;
+        totalWaitMillis += waitMillis;
+        maxWaitSeenMillis = Math.max(maxWaitSeenMillis, waitMillis);
+        waitHistogram[64 - Long.numberOfLeadingZeros(Math.max(0, waitMillis))]++;
+    }
+
+    /**
+     * Runs formTables() every intervalMillis on the given wheel until stop()
+     */
+    public synchronized void start(TimingWheel wheel, long intervalMillis) {
+        stop();
+        periodic = wheel.scheduleRepeating(this::formTables, intervalMillis);
+    }
+
+    public synchronized void stop() {
+        if (periodic != null) {
+            periodic.cancel();
+            periodic = null;
+        }
+    }
+
+    // Metrics
+    public synchronized long getPlayersMatched() {
+        return playersMatched;
+    }
+
+    public synchronized long getTablesFormed() {
+        return tablesFormed;
+    }
+
+    public synchronized double getAverageWaitMillis() {
+        return playersMatched == 0 ? 0.0 : (double) totalWaitMillis / playersMatched;
+    }
+
+    public synchronized long getMaxWaitMillis() {
+        return maxWaitSeenMillis;
+    }
+
+    /**
+     * Upper bound (power of two, in ms) on the wait of the given fraction of matched players
+     */
+    public synchronized long getWaitPercentileMillis(double fraction) {
+        long target = (long) Math.ceil(fraction * playersMatched);
+        long seen = 0;
+        for (int i = 0; i < waitHistogram.length; i++) {
+            seen += waitHistogram[i];
+            if (seen >= target && seen > 0) {
+                return i == 0 ? 0 : (1L << i) - 1;
+            }
+        }
+        return maxWaitSeenMillis;
+    }
+
+    /**
+     * Players that joined but have not been seated yet (approximate while joins are running)
+     */
+    public synchronized int getWaitingCount() {
+        return waiting.size() + arrivals.size();
+    }
+}
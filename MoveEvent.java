@@ -0,0 +1,96 @@
+/**
+ * One player move, as published to a MoveEventRing.
+ * Instances are preallocated ring slots and get overwritten - consumers must
+ * copy any values they want to keep beyond the handler call.
+ */
+public class MoveEvent {
+    public enum Kind {
+        MOVE,      // Plain move
+        SNAKE,     // Landed on a snake head
+        LADDER,    // Landed on a ladder bottom
+        OVERSHOOT  // Roll would pass the winning position - no movement
+    }
+
+    private long sequence;
+    private long gameId;
+    private int turn;
+    private int playerIndex;
+    private int roll;
+    private int from;
+    private int to;
+    private Kind kind;
+    private boolean winningMove;
+
+    void set(long gameId, int turn, int playerIndex, int roll, int from, int to, Kind kind, boolean winningMove) {
+        this.gameId = gameId;
+        this.turn = turn;
+        this.playerIndex = playerIndex;
+        this.roll = roll;
+        this.from = from;
+        this.to = to;
+        this.kind = kind;
+        this.winningMove = winningMove;
+    }
+
+    void copyFrom(MoveEvent other) {
+        this.sequence = other.sequence;
+        set(other.gameId, other.turn, other.playerIndex, other.roll, other.from, other.to,
+            other.kind, other.winningMove);
+    }
+
+    void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    /**
+     * Position of this event in the ring's stream (0, 1, 2, ...)
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    public long getGameId() {
+        return gameId;
+    }
+
+    public int getTurn() {
+        return turn;
+    }
+
+    public int getPlayerIndex() {
+        return playerIndex;
+    }
+
+    public int getRoll() {
+        return roll;
+    }
+
+    public int getFrom() {
+        return from;
+    }
+
+    /**
+     * Cell where the player lands before any snake or ladder
+     */
+    public int getLanded() {
+        return kind == Kind.OVERSHOOT ? from : from + roll;
+    }
+
+    public int getTo() {
+        return to;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public boolean isWinningMove() {
+        return winningMove;
+    }
+
+    @Override
+    public String toString() {
+        return "Move#" + sequence + "(game " + gameId + ", turn " + turn + ", player " + (playerIndex + 1) +
+               ": rolled " + roll + ", " + from + "→" + to + " " + kind + (winningMove ? ", WIN" : "") + ")";
+    }
+}
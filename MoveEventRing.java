@@ -0,0 +1,300 @@
+import java.lang.invoke.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.concurrent.locks.*;
+import java.util.function.Consumer;
+
+/**
+ * Multi-consumer ring buffer of move events (Disruptor style), shared by any
+ * number of games.
+ *
+ * Game loops publish into preallocated MoveEvent slots; nothing is allocated
+ * per event. Publishers claim a sequence with one atomic increment, fill the
+ * slot, mark it published, and then move the cursor past every contiguously
+ * published slot. So games on different threads (e.g. hosted by
+ * TurnScheduler) can share one ring, and consumers only ever see complete
+ * events, in sequence order. Each consumer runs on its own thread with its own
+ * sequence cursor and wait strategy, so consumers never contend with each other.
+ *
+ * Gating consumers (journal, metrics) see every event: the producer waits for
+ * them when the ring is full. Non-gating consumers (spectators) never hold the
+ * producer back; if one falls a whole ring behind it either skips ahead to the
+ * oldest event still in the ring or is disconnected.
+ *
+ */
+public class MoveEventRing implements AutoCloseable {
+    public enum WaitStrategy {
+        BUSY_SPIN,  // Lowest latency, burns a core
+        YIELDING,   // Spins briefly, then yields the CPU
+        SLEEPING;   // Spins, yields, then parks - lowest CPU use
+
+        void idle(int attempts) {
+            if (this == BUSY_SPIN || attempts < 100) {
+                Thread.onSpinWait();
+            } else if (this == YIELDING || attempts < 200) {
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(100_000);
+            }
+        }
+    }
+
+    public enum OverrunPolicy {
+        SKIP_AHEAD,  // Lag: jump to the oldest event still in the ring, counting the rest as dropped
+        DISCONNECT   // Drop the consumer
+    }
+
+    private final MoveEvent[] slots;
+    private final int mask;
+    private final WaitStrategy producerWait;
+    private static final VarHandle PUBLISHED = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final long[] published;                         // Sequence each slot last held, once complete
+    private final AtomicLong cursor = new AtomicLong(-1);  // Every sequence up to this is published
+    private final AtomicLong claimed = new AtomicLong(-1); // Highest sequence claimed by a publisher
+    private final List<EventConsumer> consumers = new CopyOnWriteArrayList<>();
+    private volatile EventConsumer[] gatingConsumers = new EventConsumer[0];
+    private volatile long cachedGatingSequence = -1; // Lowest gating sequence last seen by a publisher
+
+    public MoveEventRing(int capacity) {
+        this(capacity, WaitStrategy.YIELDING);
+    }
+
+    /**
+     * @param capacity     number of slots, must be a power of two
+     * @param producerWait how the producer waits for gating consumers when the ring is full
+     */
+    public MoveEventRing(int capacity, WaitStrategy producerWait) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Ring capacity must be a power of two!");
+        }
+        this.slots = new MoveEvent[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new MoveEvent();
+        }
+        this.published = new long[capacity];
+        Arrays.fill(published, -1);
+        this.mask = capacity - 1;
+        this.producerWait = producerWait;
+    }
+
+    /**
+     * Publishes one move and returns its sequence; safe to call from any thread
+     */
+    public long publish(long gameId, int turn, int playerIndex, int roll, int from, int to,
+                        MoveEvent.Kind kind, boolean winningMove) {
+        // Claiming first also announces the write, so non-gating readers can detect a torn slot
+        long sequence = claimed.incrementAndGet();
+        long wrapPoint = sequence - slots.length;
+        if (wrapPoint > cachedGatingSequence) {
+            int attempts = 0;
+            long minimum;
+            while (wrapPoint > (minimum = minimumGatingSequence())) {
+                producerWait.idle(attempts++);
+            }
+            cachedGatingSequence = minimum;
+        }
+
+        int index = (int) (sequence & mask);
+        MoveEvent slot = slots[index];
+        slot.setSequence(sequence);
+        slot.set(gameId, turn, playerIndex, roll, from, to, kind, winningMove);
+        PUBLISHED.setVolatile(published, index, sequence);
+
+        advanceCursor();
+        return sequence;
+    }
+
+    /**
+     * Moves the cursor past every contiguously published sequence. Each
+     * publisher does this after marking its own slot, so whichever of two
+     * racing publishers finishes last carries the cursor past both.
+     */
+    private void advanceCursor() {
+        long current;
+        while ((current = cursor.get()) < claimed.get()) {
+            long next = current + 1;
+            if ((long) PUBLISHED.getVolatile(published, (int) (next & mask)) != next) {
+                return; // Still being written; its publisher will advance the cursor
+            }
+            cursor.compareAndSet(current, next);
+        }
+    }
+
+    private long minimumGatingSequence() {
+        long minimum = Long.MAX_VALUE;
+        for (EventConsumer consumer : gatingConsumers) {
+            minimum = Math.min(minimum, consumer.sequence.get());
+        }
+        return minimum == Long.MAX_VALUE ? cursor.get() : minimum;
+    }
+
+    /**
+     * Starts a consumer thread that receives events published from now on.
+     * The event passed to the handler is the consumer's own copy, reused for every call.
+     */
+    public EventConsumer addConsumer(String name, Consumer<MoveEvent> handler, boolean gating,
+                                     WaitStrategy waitStrategy, OverrunPolicy overrunPolicy) {
+        EventConsumer consumer = new EventConsumer(name, handler, gating, waitStrategy, overrunPolicy);
+        synchronized (this) {
+            consumer.sequence.set(cursor.get());
+            consumers.add(consumer);
+            if (gating) {
+                EventConsumer[] updated = Arrays.copyOf(gatingConsumers, gatingConsumers.length + 1);
+                updated[updated.length - 1] = consumer;
+                gatingConsumers = updated;
+            }
+        }
+        consumer.thread.start();
+        return consumer;
+    }
+
+    /**
+     * Stops a consumer; a gating consumer no longer holds the producer back
+     */
+    public synchronized void removeConsumer(EventConsumer consumer) {
+        consumer.running = false;
+        consumers.remove(consumer);
+        gatingConsumers = Arrays.stream(gatingConsumers)
+                .filter(c -> c != consumer)
+                .toArray(EventConsumer[]::new);
+    }
+
+    @Override
+    public void close() {
+        for (EventConsumer consumer : consumers) {
+            removeConsumer(consumer);
+        }
+    }
+
+    /**
+     * Last published sequence (-1 if nothing has been published yet)
+     */
+    public long getCursor() {
+        return cursor.get();
+    }
+
+    public int getCapacity() {
+        return slots.length;
+    }
+
+    /**
+     * One consumer thread with its own cursor
+     */
+    public class EventConsumer {
+        private final String name;
+        private final Consumer<MoveEvent> handler;
+        private final boolean gating;
+        private final WaitStrategy waitStrategy;
+        private final OverrunPolicy overrunPolicy;
+        private final AtomicLong sequence = new AtomicLong(-1); // Last processed sequence
+        private final MoveEvent scratch = new MoveEvent();
+        private final Thread thread;
+        private volatile boolean running = true;
+        private volatile boolean disconnected;
+        private volatile long dropped;
+
+        private EventConsumer(String name, Consumer<MoveEvent> handler, boolean gating,
+                              WaitStrategy waitStrategy, OverrunPolicy overrunPolicy) {
+            this.name = name;
+            this.handler = handler;
+            this.gating = gating;
+            this.waitStrategy = waitStrategy;
+            this.overrunPolicy = overrunPolicy;
+            this.thread = new Thread(this::run, "move-events-" + name);
+            this.thread.setDaemon(true);
+        }
+
+        private void run() {
+            long next = sequence.get() + 1;
+            int attempts = 0;
+
+            while (running) {
+                long available = cursor.get();
+                if (available < next) {
+                    waitStrategy.idle(attempts++);
+                    continue;
+                }
+                attempts = 0;
+
+                while (next <= available && running) {
+                    scratch.copyFrom(slots[(int) (next & mask)]);
+                    if (!gating) {
+                        VarHandle.loadLoadFence();
+                        if (claimed.get() - next >= slots.length) {
+                            // Producer lapped us while (or before) we read this slot
+                            next = handleOverrun(next);
+                            break;
+                        }
+                    }
+                    try {
+                        handler.accept(scratch);
+                    } catch (RuntimeException e) {
+                        System.out.println("Move event consumer " + name + " failed: " + e);
+                    }
+                    next++;
+                    if (gating && (next & 63) == 0) {
+                        sequence.lazySet(next - 1); // Release slots in batches, not per event
+                    }
+                }
+                sequence.lazySet(next - 1);
+            }
+        }
+
+        private long handleOverrun(long next) {
+            if (overrunPolicy == OverrunPolicy.DISCONNECT) {
+                disconnected = true;
+                removeConsumer(this);
+                return next;
+            }
+            // Oldest sequence that can't be overwritten before we read it (leave one slot of slack)
+            long resume = claimed.get() - slots.length + 2;
+            dropped += resume - next;
+            return resume;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Last sequence this consumer has finished with
+         */
+        public long getSequence() {
+            return sequence.get();
+        }
+
+        /**
+         * How many published events this consumer has not processed yet
+         */
+        public long getLag() {
+            return Math.max(0, cursor.get() - sequence.get());
+        }
+
+        /**
+         * Events skipped because the consumer fell a whole ring behind
+         */
+        public long getDropped() {
+            return dropped;
+        }
+
+        public boolean isDisconnected() {
+            return disconnected;
+        }
+
+        /**
+         * Waits until the consumer has processed everything published so far
+         */
+        public void awaitCaughtUp(long timeout, TimeUnit unit) throws InterruptedException, TimeoutException {
+            long target = cursor.get();
+            long deadline = System.nanoTime() + unit.toNanos(timeout);
+            while (sequence.get() < target && running) {
+                if (System.nanoTime() > deadline) {
+                    throw new TimeoutException("Consumer " + name + " is still at " + sequence.get() + " of " + target);
+                }
+                Thread.sleep(1);
+            }
+        }
+    }
+}
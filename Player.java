@@ -35,6 +35,14 @@ public class Player {
         isWinner = winner;
     }
     
+    /**
+     * Puts the player back at the start, ready for a new game
+     */
+    public void reset() {
+        this.position = 0;
+        this.isWinner = false;
+    }
+    
     public void move(int steps) {
         this.position += steps;
     }
@@ -0,0 +1,795 @@
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * Holds a very large number of game sessions in a bounded heap, in three tiers:
+ *   - hot: live Game objects for recently played sessions
+ *   - off-heap: idle games written with Game.writeTo() into direct ByteBuffer segments
+ *   - spilled: segments of a memory-mapped file, once the off-heap budget is used up
+ *
+ * A cold session costs no objects - a primitive hash table maps its id to the
+ * segment and offset of its record - so the heap only grows with the hot tier.
+ * get() and roll() rehydrate a cold game on demand by decoding one small record
+ * (microseconds) and make it hot again. Eviction drops the Game object, so a
+ * reference returned by get() goes stale once its session is evicted: turns
+ * played on it are lost. Play turns through roll(sessionId), or pin() the session
+ * for as long as the Game is held elsewhere (e.g. by a TurnScheduler.Session).
+ *
+ * Sessions go cold when the hot tier grows past maxHotSessions (least recently
+ * used first) or when evictIdle() - run periodically on a TimingWheel, or by
+ * hand - finds them untouched for too long. Records are appended to segments.
+ * Once the off-heap budget is full, the sparsest off-heap segment is compacted
+ * in place if that frees enough room (any room at all without a spill file);
+ * otherwise the oldest off-heap segment's live records move to the spill file
+ * and that segment is reused. A spilled segment that drops below 1/4 live is
+ * compacted into the spill file's tail and reused, so the file stays within a
+ * small factor of the live records. A rehydrated session's record is released
+ * before anything is evicted in its place, so its bytes can be reused.
+ *
+ * All methods are synchronized. A game's Dice fairness monitor is flushed on
+ * eviction and re-attached on rehydration; its move event stream is not stored,
+ * so attach that again after get() if needed. Boards and monitor streams are
+ * kept for cold records in a reference-counted table, so they are released with
+ * the last record that uses them.
+ */
+public class SessionStore implements Closeable {
+    private static final int HEADER_BYTES = 20; // Session id, record length, board index, monitor index
+    private static final int COMPACT_BELOW_FRACTION = 4; // Compact segments less than 1/4 live
+    private static final int DEFAULT_SEGMENT_BYTES = 1 << 20;
+
+    private final int maxHotSessions;
+    private final int segmentBytes;
+    private final int maxOffHeapSegments;
+    private final Path spillFile;
+    private final LongSupplier clockMillis;
+
+    private final LinkedHashMap<Long, HotSession> hot = new LinkedHashMap<>(16, 0.75f, true); // Eldest = least recent
+    private final LongLongMap cold = new LongLongMap();     // Session id -> record location
+    private final List<Segment> segments = new ArrayList<>();
+    private final ArrayDeque<Segment> offHeapInUse = new ArrayDeque<>(); // Oldest first, tail last
+    private final ArrayDeque<Segment> freeOffHeap = new ArrayDeque<>();
+    private final ArrayDeque<Segment> freeSpilled = new ArrayDeque<>();
+    private final List<Object> shared = new ArrayList<>(); // Boards and monitor streams that records refer to
+    private final Map<Object, Integer> sharedIndexes = new IdentityHashMap<>();
+    private final ArrayDeque<Integer> freeSharedIndexes = new ArrayDeque<>();
+    private int[] sharedRefs = new int[16]; // Records referring to each shared entry
+    private Segment offHeapTail;
+    private Segment spilledTail;
+    private int pinnedSessions;
+    private int offHeapSegments;
+    private int spilledSegments;
+    private FileChannel spillChannel;
+    private ByteBuffer scratch = ByteBuffer.allocate(1024);
+    private byte[] moveBuffer = new byte[1024]; // For compactInPlace(); scratch may hold a record being stored
+    private TimingWheel.Repeating periodic;
+
+    // Stats
+    private int offHeapSessions;
+    private int spilledSessions;
+    private long evictions;
+    private long rehydrations;
+    private long relocations;
+
+    private static class HotSession {
+        private Game game;
+        private long lastAccessMillis;
+        private int pins;
+
+        HotSession(Game game, long lastAccessMillis) {
+            this.game = game;
+            this.lastAccessMillis = lastAccessMillis;
+        }
+    }
+
+    /**
+     * A fixed-size run of records: [session id][length][board index][monitor index][game bytes]...
+     */
+    private static class Segment {
+        private final int index;
+        private final boolean spilled;
+        private final ByteBuffer buffer;
+        private int used;      // Bytes appended so far
+        private int liveBytes; // Bytes of records not yet rehydrated or removed
+
+        Segment(int index, boolean spilled, ByteBuffer buffer) {
+            this.index = index;
+            this.spilled = spilled;
+            this.buffer = buffer;
+        }
+    }
+
+    /**
+     * Keeps everything in memory (no spill file); put() fails once the off-heap budget is full
+     */
+    public SessionStore(int maxHotSessions, long offHeapBytes) {
+        this(maxHotSessions, offHeapBytes, null, DEFAULT_SEGMENT_BYTES, System::currentTimeMillis);
+    }
+
+    public SessionStore(int maxHotSessions, long offHeapBytes, Path spillFile) {
+        this(maxHotSessions, offHeapBytes, spillFile, DEFAULT_SEGMENT_BYTES, System::currentTimeMillis);
+    }
+
+    /**
+     * @param offHeapBytes budget for direct buffers, used in whole segments
+     * @param spillFile    scratch file for segments beyond the budget (deleted on close), or null
+     * @param segmentBytes size of each segment; must hold the largest game record
+     */
+    public SessionStore(int maxHotSessions, long offHeapBytes, Path spillFile, int segmentBytes,
+                        LongSupplier clockMillis) {
+        if (maxHotSessions < 1) {
+            throw new IllegalArgumentException("Must keep at least 1 hot session!");
+        }
+        if (segmentBytes < 1024) {
+            throw new IllegalArgumentException("Segments must be at least 1024 bytes!");
+        }
+        this.maxHotSessions = maxHotSessions;
+        this.segmentBytes = segmentBytes;
+        this.maxOffHeapSegments = (int) Math.min(Integer.MAX_VALUE, offHeapBytes / segmentBytes);
+        this.spillFile = spillFile;
+        this.clockMillis = clockMillis;
+    }
+
+    /**
+     * Adds a session (replacing any with the same id, keeping its pins) as hot
+     */
+    public synchronized void put(long sessionId, Game game) {
+        if (sessionId == LongLongMap.EMPTY) {
+            throw new IllegalArgumentException("Session id " + sessionId + " is reserved!");
+        }
+        HotSession current = hot.get(sessionId);
+        if (current != null) {
+            current.game = game;
+            current.lastAccessMillis = clockMillis.getAsLong();
+            return;
+        }
+        long location = cold.get(sessionId);
+        Game previous = location < 0 ? null : decode(location); // To put back if no room can be made
+        removeCold(sessionId); // First, so its bytes can take the evicted session
+        try {
+            makeHotRoom();
+        } catch (RuntimeException e) {
+            if (previous != null) {
+                restoreCold(sessionId, previous, e);
+            }
+            throw e;
+        }
+        hot.put(sessionId, new HotSession(game, clockMillis.getAsLong()));
+    }
+
+    /**
+     * Returns the session's game, rehydrating it if it was evicted, or null if
+     * unknown. Don't keep the result: once the session is evicted it is a stale
+     * copy (see pin()).
+     */
+    public synchronized Game get(long sessionId) {
+        HotSession session = hot.get(sessionId);
+        if (session != null) {
+            session.lastAccessMillis = clockMillis.getAsLong();
+            return session.game;
+        }
+        long location = cold.get(sessionId);
+        if (location < 0) {
+            return null;
+        }
+
+        Game game = decode(location);
+        removeCold(sessionId); // First, so its bytes can take the evicted session
+        try {
+            makeHotRoom();
+        } catch (RuntimeException e) {
+            restoreCold(sessionId, game, e);
+            throw e;
+        }
+        rehydrations++;
+        hot.put(sessionId, new HotSession(game, clockMillis.getAsLong()));
+        return game;
+    }
+
+    /**
+     * Plays the session's next turn, rehydrating it first if needed
+     */
+    public synchronized Game roll(long sessionId) {
+        Game game = get(sessionId);
+        if (game == null) {
+            throw new IllegalArgumentException("Unknown session " + sessionId + "!");
+        }
+        game.playTurn();
+        return game;
+    }
+
+    /**
+     * Like get(), but the session is never evicted until a matching unpin(), so
+     * the returned Game may be kept and played directly. Pinned sessions don't
+     * count towards maxHotSessions; pins nest.
+     */
+    public synchronized Game pin(long sessionId) {
+        Game game = get(sessionId);
+        if (game != null && hot.get(sessionId).pins++ == 0) {
+            pinnedSessions++;
+        }
+        return game;
+    }
+
+    public synchronized void unpin(long sessionId) {
+        HotSession session = hot.get(sessionId);
+        if (session == null || session.pins == 0) {
+            throw new IllegalStateException("Session " + sessionId + " is not pinned!");
+        }
+        if (--session.pins == 0) {
+            pinnedSessions--;
+        }
+    }
+
+    public synchronized boolean remove(long sessionId) {
+        HotSession session = hot.remove(sessionId);
+        if (session != null) {
+            if (session.pins > 0) {
+                pinnedSessions--;
+            }
+            return true;
+        }
+        return removeCold(sessionId);
+    }
+
+    public synchronized boolean contains(long sessionId) {
+        return hot.containsKey(sessionId) || cold.get(sessionId) >= 0;
+    }
+
+    /**
+     * Moves every hot session untouched for at least idleMillis out of the heap
+     */
+    public synchronized int evictIdle(long idleMillis) {
+        long cutoff = clockMillis.getAsLong() - idleMillis;
+        int evicted = 0;
+        Iterator<Map.Entry<Long, HotSession>> it = hot.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Long, HotSession> entry = it.next();
+            if (entry.getValue().pins > 0) {
+                continue;
+            }
+            if (entry.getValue().lastAccessMillis > cutoff) {
+                break; // Access order: everything after this is more recent
+            }
+            storeCold(entry.getKey(), entry.getValue().game);
+            it.remove();
+            evicted++;
+        }
+        return evicted;
+    }
+
+    /**
+     * Evicts least recently used unpinned sessions until one more fits in the hot tier
+     */
+    private void makeHotRoom() {
+        Iterator<Map.Entry<Long, HotSession>> it = hot.entrySet().iterator();
+        while (hot.size() - pinnedSessions >= maxHotSessions) {
+            Map.Entry<Long, HotSession> eldest = it.next();
+            if (eldest.getValue().pins == 0) {
+                storeCold(eldest.getKey(), eldest.getValue().game);
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Runs evictIdle(idleMillis) every intervalMillis on the given wheel until stop()
+     */
+    public synchronized void start(TimingWheel wheel, long intervalMillis, long idleMillis) {
+        stop();
+        periodic = wheel.scheduleRepeating(() -> evictIdle(idleMillis), intervalMillis);
+    }
+
+    public synchronized void stop() {
+        if (periodic != null) {
+            periodic.cancel();
+            periodic = null;
+        }
+    }
+
+    // Cold tier
+    //
+    // Any failure (budget full without a spill file, spill file I/O) happens
+    // before a record is moved or written, so the store stays consistent.
+
+    private void storeCold(long sessionId, Game game) {
+        writeCold(sessionId, game);
+        evictions++;
+    }
+
+    private void writeCold(long sessionId, Game game) {
+        ByteBuffer bytes = encode(game);
+        int recordBytes = HEADER_BYTES + bytes.remaining();
+        if (recordBytes > segmentBytes) {
+            throw new IllegalStateException("Game state of " + recordBytes + " bytes does not fit in a segment!");
+        }
+
+        Segment segment = offHeapSegmentFor(recordBytes);
+        if (segment == null) {
+            segment = spilledSegmentFor(recordBytes);
+        }
+        // Only now: append() takes the references, so nothing can fail in between
+        Dice dice = game.getDice();
+        DiceFairnessMonitor.Stream monitor = dice.getMonitor();
+        int monitorIndex = monitor == null ? -1 : sharedIndex(monitor);
+        int boardIndex = sharedIndex(game.getBoard());
+        dice.flushMonitor(); // Batched rolls would otherwise be lost with the Dice
+        cold.put(sessionId, append(segment, sessionId, boardIndex, monitorIndex, bytes));
+    }
+
+    /**
+     * Puts back a session taken out of the cold tier to make room, after the
+     * eviction failed. Its own freed bytes can hold it again, so this only
+     * fails if writing to the spill file fails as well.
+     */
+    private void restoreCold(long sessionId, Game game, RuntimeException failure) {
+        try {
+            writeCold(sessionId, game);
+        } catch (RuntimeException e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    private Game decode(long location) {
+        Segment segment = segments.get((int) (location >>> 32));
+        int offset = (int) location;
+        ByteBuffer buffer = segment.buffer;
+        int length = buffer.getInt(offset + 8);
+        Board board = (Board) shared.get(buffer.getInt(offset + 12));
+        int monitorIndex = buffer.getInt(offset + 16);
+        ByteBuffer record = buffer.duplicate();
+        record.position(offset + HEADER_BYTES).limit(offset + HEADER_BYTES + length);
+        Game game = Game.readFrom(record, board);
+        if (monitorIndex >= 0) {
+            game.getDice().setMonitor((DiceFairnessMonitor.Stream) shared.get(monitorIndex));
+        }
+        return game;
+    }
+
+    private ByteBuffer encode(Game game) {
+        while (true) {
+            scratch.clear();
+            try {
+                game.writeTo(scratch);
+                scratch.flip();
+                return scratch;
+            } catch (BufferOverflowException e) {
+                scratch = ByteBuffer.allocate(scratch.capacity() * 2);
+            }
+        }
+    }
+
+    private long append(Segment segment, long sessionId, int boardIndex, int monitorIndex, ByteBuffer bytes) {
+        int offset = segment.used;
+        int length = bytes.remaining();
+        ByteBuffer buffer = segment.buffer;
+        buffer.putLong(offset, sessionId);
+        buffer.putInt(offset + 8, length);
+        buffer.putInt(offset + 12, boardIndex);
+        buffer.putInt(offset + 16, monitorIndex);
+        buffer.position(offset + HEADER_BYTES);
+        buffer.put(bytes);
+        segment.used += HEADER_BYTES + length;
+        segment.liveBytes += HEADER_BYTES + length;
+        sharedRefs[boardIndex]++;
+        if (monitorIndex >= 0) {
+            sharedRefs[monitorIndex]++;
+        }
+        if (segment.spilled) {
+            spilledSessions++;
+        } else {
+            offHeapSessions++;
+        }
+        return ((long) segment.index << 32) | offset;
+    }
+
+    private boolean removeCold(long sessionId) {
+        long location = cold.remove(sessionId);
+        if (location < 0) {
+            return false;
+        }
+        Segment segment = segments.get((int) (location >>> 32));
+        segment.liveBytes -= HEADER_BYTES + segment.buffer.getInt((int) location + 8);
+        releaseShared(segment.buffer, (int) location);
+        if (segment.spilled) {
+            spilledSessions--;
+        } else {
+            offHeapSessions--;
+        }
+        settle(segment);
+        return true;
+    }
+
+    /**
+     * After a segment lost records: reuse it if empty, and move a sparse spilled
+     * segment's records to the spill tail. (Sparse off-heap segments are compacted
+     * in place once offHeapSegmentFor() needs their room.) Tails are left alone
+     * (an empty tail just starts again from the top).
+     */
+    private void settle(Segment segment) {
+        if (segment == offHeapTail || segment == spilledTail) {
+            if (segment.liveBytes == 0) {
+                segment.used = 0;
+            }
+            return;
+        }
+        if (segment.spilled && segment.liveBytes > 0 && segment.liveBytes < segmentBytes / COMPACT_BELOW_FRACTION) {
+            relocate(segment);
+        }
+        if (segment.liveBytes == 0) {
+            segment.used = 0;
+            if (segment.spilled) {
+                freeSpilled.add(segment);
+            } else {
+                offHeapInUse.remove(segment);
+                freeOffHeap.add(segment);
+            }
+        }
+    }
+
+    /**
+     * The off-heap tail if the record fits, else a new tail: a free segment, a new
+     * one within the budget, the sparsest segment compacted in place or the oldest
+     * segment after spilling it. Null, with nothing changed, if none of those is
+     * possible.
+     */
+    private Segment offHeapSegmentFor(int recordBytes) {
+        while (offHeapTail == null || segmentBytes - offHeapTail.used < recordBytes) {
+            Segment next = freeOffHeap.pollFirst();
+            if (next == null && offHeapSegments < maxOffHeapSegments) {
+                next = newSegment(false, ByteBuffer.allocateDirect(segmentBytes));
+                offHeapSegments++;
+            }
+            if (next == null) {
+                // With a spill file, only compact when it frees a good share of a segment
+                int minFree = spillFile == null ? recordBytes : Math.max(recordBytes, segmentBytes / COMPACT_BELOW_FRACTION);
+                next = sparsestOffHeapSegment(minFree);
+                if (next != null) {
+                    compactInPlace(next);
+                    if (next == offHeapTail) {
+                        continue;
+                    }
+                    offHeapInUse.remove(next);
+                }
+            }
+            if (next == null) {
+                if (spillFile == null || offHeapInUse.isEmpty()) {
+                    return null;
+                }
+                next = offHeapInUse.peekFirst();
+                relocate(next); // Leaves it in use (with correct counts) if the spill fails
+                offHeapInUse.pollFirst();
+                next.used = 0;
+            }
+            Segment retired = offHeapTail;
+            offHeapTail = next;
+            offHeapInUse.addLast(next);
+            if (retired != null && retired != next) {
+                settle(retired);
+            }
+        }
+        return offHeapTail;
+    }
+
+    private Segment spilledSegmentFor(int recordBytes) {
+        while (spilledTail == null || segmentBytes - spilledTail.used < recordBytes) {
+            Segment next = freeSpilled.pollFirst();
+            if (next == null) {
+                next = newSegment(true, mapSpillSegment(spilledSegments));
+                spilledSegments++;
+            }
+            Segment retired = spilledTail;
+            spilledTail = next;
+            if (retired != null) {
+                settle(retired);
+            }
+        }
+        return spilledTail;
+    }
+
+    /**
+     * The in-use off-heap segment (tail included) with the most free bytes once
+     * compacted, if that is at least minFree
+     */
+    private Segment sparsestOffHeapSegment(int minFree) {
+        Segment sparsest = null;
+        for (Segment segment : offHeapInUse) {
+            if (sparsest == null || segment.liveBytes < sparsest.liveBytes) {
+                sparsest = segment;
+            }
+        }
+        return sparsest != null && segmentBytes - sparsest.liveBytes >= minFree ? sparsest : null;
+    }
+
+    /**
+     * Slides the segment's live records down over the dead ones, so all its free
+     * bytes end up after used. Needs no room elsewhere, so it never fails.
+     */
+    private void compactInPlace(Segment segment) {
+        ByteBuffer buffer = segment.buffer;
+        int read = 0;
+        int write = 0;
+        while (read < segment.used) {
+            long sessionId = buffer.getLong(read);
+            int recordBytes = HEADER_BYTES + buffer.getInt(read + 8);
+            if (cold.get(sessionId) == (((long) segment.index << 32) | read)) {
+                if (write != read) {
+                    if (moveBuffer.length < recordBytes) {
+                        moveBuffer = new byte[Math.max(recordBytes, moveBuffer.length * 2)];
+                    }
+                    buffer.position(read);
+                    buffer.get(moveBuffer, 0, recordBytes); // Copied out first: the ranges may overlap
+                    buffer.position(write);
+                    buffer.put(moveBuffer, 0, recordBytes);
+                    cold.put(sessionId, ((long) segment.index << 32) | write);
+                }
+                write += recordBytes;
+            }
+            read += recordBytes;
+        }
+        segment.used = write;
+        relocations++;
+    }
+
+    /**
+     * Moves the segment's live records to the tail of the spill file
+     */
+    private void relocate(Segment segment) {
+        ByteBuffer buffer = segment.buffer;
+        ByteBuffer source = buffer.duplicate();
+        int offset = 0;
+        while (offset < segment.used && segment.liveBytes > 0) {
+            long sessionId = buffer.getLong(offset);
+            int length = buffer.getInt(offset + 8);
+            int recordBytes = HEADER_BYTES + length;
+            long location = ((long) segment.index << 32) | offset;
+            if (cold.get(sessionId) == location) {
+                Segment target = spilledSegmentFor(recordBytes);
+                source.limit(offset + recordBytes).position(offset + HEADER_BYTES);
+                cold.put(sessionId, append(target, sessionId, buffer.getInt(offset + 12),
+                                           buffer.getInt(offset + 16), source));
+                releaseShared(buffer, offset);
+                segment.liveBytes -= recordBytes;
+                if (segment.spilled) {
+                    spilledSessions--;
+                } else {
+                    offHeapSessions--;
+                }
+            }
+            offset += recordBytes;
+        }
+        relocations++;
+    }
+
+    private ByteBuffer mapSpillSegment(int number) {
+        if (spillFile == null) {
+            throw new IllegalStateException("Off-heap session storage is full and there is no spill file!");
+        }
+        try {
+            if (spillChannel == null) {
+                spillChannel = FileChannel.open(spillFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                                                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            }
+            return spillChannel.map(FileChannel.MapMode.READ_WRITE, (long) number * segmentBytes, segmentBytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not map spill file " + spillFile, e);
+        }
+    }
+
+    private Segment newSegment(boolean spilled, ByteBuffer buffer) {
+        Segment segment = new Segment(segments.size(), spilled, buffer);
+        segments.add(segment);
+        return segment;
+    }
+
+    /**
+     * Index of a board or monitor stream in the table records refer to; the
+     * entry is freed when the last record referring to it goes (see append())
+     */
+    private int sharedIndex(Object object) {
+        Integer index = sharedIndexes.get(object);
+        if (index == null) {
+            index = freeSharedIndexes.pollFirst();
+            if (index == null) {
+                index = shared.size();
+                shared.add(object);
+                if (index == sharedRefs.length) {
+                    sharedRefs = Arrays.copyOf(sharedRefs, index * 2);
+                }
+            } else {
+                shared.set(index, object);
+            }
+            sharedIndexes.put(object, index);
+        }
+        return index;
+    }
+
+    /**
+     * Drops the references held by the record at offset
+     */
+    private void releaseShared(ByteBuffer buffer, int offset) {
+        releaseShared(buffer.getInt(offset + 12));
+        int monitorIndex = buffer.getInt(offset + 16);
+        if (monitorIndex >= 0) {
+            releaseShared(monitorIndex);
+        }
+    }
+
+    private void releaseShared(int index) {
+        if (--sharedRefs[index] == 0) {
+            sharedIndexes.remove(shared.set(index, null));
+            freeSharedIndexes.addLast(index);
+        }
+    }
+
+    /**
+     * Closes and deletes the spill file; the store must not be used afterwards
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        stop();
+        if (spillChannel != null) {
+            spillChannel.close();
+            spillChannel = null;
+            Files.deleteIfExists(spillFile);
+        }
+    }
+
+    // Stats
+
+    public synchronized int getSessionCount() {
+        return hot.size() + cold.size();
+    }
+
+    /**
+     * Hot sessions, pinned ones included
+     */
+    public synchronized int getHotCount() {
+        return hot.size();
+    }
+
+    public synchronized int getPinnedCount() {
+        return pinnedSessions;
+    }
+
+    /**
+     * Boards and monitor streams still referenced by cold records
+     */
+    public synchronized int getSharedCount() {
+        return sharedIndexes.size();
+    }
+
+    public synchronized int getOffHeapCount() {
+        return offHeapSessions;
+    }
+
+    public synchronized int getSpilledCount() {
+        return spilledSessions;
+    }
+
+    public synchronized long getOffHeapBytes() {
+        return (long) offHeapSegments * segmentBytes;
+    }
+
+    public synchronized long getSpilledBytes() {
+        return (long) spilledSegments * segmentBytes;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    public synchronized long getRehydrations() {
+        return rehydrations;
+    }
+
+    /**
+     * Segments whose live records were moved (spilled or compacted)
+     */
+    public synchronized long getRelocations() {
+        return relocations;
+    }
+
+    /**
+     * Open-addressing long -> long hash table (linear probing, backward-shift
+     * deletion), so cold sessions cost two array slots rather than objects
+     */
+    private static class LongLongMap {
+        static final long EMPTY = Long.MIN_VALUE;
+
+        private long[] keys;
+        private long[] values;
+        private int mask;
+        private int size;
+
+        LongLongMap() {
+            allocate(1024);
+        }
+
+        private void allocate(int capacity) {
+            keys = new long[capacity];
+            values = new long[capacity];
+            Arrays.fill(keys, EMPTY);
+            mask = capacity - 1;
+        }
+
+        private int slot(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32)) & mask;
+        }
+
+        /**
+         * Value for the key, or -1 if absent (values must be non-negative)
+         */
+        long get(long key) {
+            for (int i = slot(key); ; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return values[i];
+                }
+                if (keys[i] == EMPTY) {
+                    return -1;
+                }
+            }
+        }
+
+        void put(long key, long value) {
+            int i = slot(key);
+            while (keys[i] != EMPTY && keys[i] != key) {
+                i = (i + 1) & mask;
+            }
+            if (keys[i] == EMPTY) {
+                if (size + 1 > keys.length / 4 * 3) {
+                    grow();
+                    put(key, value);
+                    return;
+                }
+                keys[i] = key;
+                size++;
+            }
+            values[i] = value;
+        }
+
+        long remove(long key) {
+            int i = slot(key);
+            while (keys[i] != key) {
+                if (keys[i] == EMPTY) {
+                    return -1;
+                }
+                i = (i + 1) & mask;
+            }
+            long old = values[i];
+            // Shift back later entries of the probe run that may no longer be reachable
+            int hole = i;
+            for (int j = (i + 1) & mask; keys[j] != EMPTY; j = (j + 1) & mask) {
+                int home = slot(keys[j]);
+                if (((j - home) & mask) >= ((j - hole) & mask)) {
+                    keys[hole] = keys[j];
+                    values[hole] = values[j];
+                    hole = j;
+                }
+            }
+            keys[hole] = EMPTY;
+            size--;
+            return old;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            long[] oldValues = values;
+            allocate(oldKeys.length * 2);
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY) {
+                    put(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        int size() {
+            return size;
+        }
+    }
+}
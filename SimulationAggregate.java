@@ -0,0 +1,161 @@
+import java.io.*;
+
+/**
+ * Partial statistics for a batch of headless games.
+ * Merging is order-independent, so totals don't depend on how games were split up.
+ */
+public class SimulationAggregate {
+    private final long[] winsBySeat;
+    private long games;
+    private long unfinishedGames;  // Hit the turn limit
+    private long totalTurns;
+    private long snakeHits;
+    private long ladderHits;
+    private long overshoots;
+    private int minTurns;
+    private int maxTurns;
+
+    public SimulationAggregate(int seats) {
+        this.winsBySeat = new long[seats];
+        this.minTurns = Integer.MAX_VALUE;
+        this.maxTurns = 0;
+    }
+
+    /**
+     * Records the outcome of a finished game
+     */
+    public void record(Game game) {
+        games++;
+        if (!game.isGameEnded()) {
+            unfinishedGames++;
+        }
+        totalTurns += game.getTurnCount();
+        snakeHits += game.getSnakeHits();
+        ladderHits += game.getLadderHits();
+        overshoots += game.getOvershoots();
+        minTurns = Math.min(minTurns, game.getTurnCount());
+        maxTurns = Math.max(maxTurns, game.getTurnCount());
+
+        int seat = game.getWinnerIndex();
+        if (seat >= 0 && seat < winsBySeat.length) {
+            winsBySeat[seat]++;
+        }
+    }
+
+    /**
+     * Adds another partial aggregate into this one
+     */
+    public void merge(SimulationAggregate other) {
+        if (other.winsBySeat.length != winsBySeat.length) {
+            throw new IllegalArgumentException("Cannot merge aggregates with different seat counts!");
+        }
+        games += other.games;
+        unfinishedGames += other.unfinishedGames;
+        totalTurns += other.totalTurns;
+        snakeHits += other.snakeHits;
+        ladderHits += other.ladderHits;
+        overshoots += other.overshoots;
+        minTurns = Math.min(minTurns, other.minTurns);
+        maxTurns = Math.max(maxTurns, other.maxTurns);
+        for (int i = 0; i < winsBySeat.length; i++) {
+            winsBySeat[i] += other.winsBySeat[i];
+        }
+    }
+
+    /**
+     * Writes the aggregate in a compact binary form (see readFrom)
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeByte(winsBySeat.length);
+        out.writeLong(games);
+        out.writeLong(unfinishedGames);
+        out.writeLong(totalTurns);
+        out.writeLong(snakeHits);
+        out.writeLong(ladderHits);
+        out.writeLong(overshoots);
+        out.writeInt(minTurns);
+        out.writeInt(maxTurns);
+        for (long wins : winsBySeat) {
+            out.writeLong(wins);
+        }
+    }
+
+    public static SimulationAggregate readFrom(DataInput in) throws IOException {
+        SimulationAggregate aggregate = new SimulationAggregate(in.readUnsignedByte());
+        aggregate.games = in.readLong();
+        aggregate.unfinishedGames = in.readLong();
+        aggregate.totalTurns = in.readLong();
+        aggregate.snakeHits = in.readLong();
+        aggregate.ladderHits = in.readLong();
+        aggregate.overshoots = in.readLong();
+        aggregate.minTurns = in.readInt();
+        aggregate.maxTurns = in.readInt();
+        for (int i = 0; i < aggregate.winsBySeat.length; i++) {
+            aggregate.winsBySeat[i] = in.readLong();
+        }
+        return aggregate;
+    }
+
+    // Getters
+    public int getSeats() {
+        return winsBySeat.length;
+    }
+
+    public long getGames() {
+        return games;
+    }
+
+    public long getUnfinishedGames() {
+        return unfinishedGames;
+    }
+
+    public long getTotalTurns() {
+        return totalTurns;
+    }
+
+    public double getAverageTurns() {
+        return games == 0 ? 0.0 : (double) totalTurns / games;
+    }
+
+    public long getSnakeHits() {
+        return snakeHits;
+    }
+
+    public long getLadderHits() {
+        return ladderHits;
+    }
+
+    public long getOvershoots() {
+        return overshoots;
+    }
+
+    public int getMinTurns() {
+        return games == 0 ? 0 : minTurns;
+    }
+
+    public int getMaxTurns() {
+        return maxTurns;
+    }
+
+    public long getWins(int seat) {
+        return winsBySeat[seat];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Games: ").append(games)
+          .append(" (unfinished: ").append(unfinishedGames).append(")\n");
+        sb.append("Turns: avg ").append(String.format("%.2f", getAverageTurns()))
+          .append(", min ").append(getMinTurns())
+          .append(", max ").append(maxTurns).append("\n");
+        sb.append("Snake hits: ").append(snakeHits)
+          .append(", ladder hits: ").append(ladderHits)
+          .append(", overshoots: ").append(overshoots).append("\n");
+        sb.append("Wins by seat:");
+        for (int i = 0; i < winsBySeat.length; i++) {
+            sb.append(" ").append(i + 1).append("=").append(winsBySeat[i]);
+        }
+        return sb.toString();
+    }
+}
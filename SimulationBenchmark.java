@@ -0,0 +1,144 @@
+import java.io.*;
+import java.lang.management.*;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Rough throughput and allocation benchmark for headless games, dice rolls and
+ * SessionStore rehydration. Allocation is measured per thread with
+ * com.sun.management.ThreadMXBean.
+ *
+ * Usage: java SimulationBenchmark [games]
+ */
+public class SimulationBenchmark {
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static final int COLD_SESSIONS = 200_000;
+
+    public static void main(String[] args) throws IOException {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Board board = new Board();
+        Path spillFile = Files.createTempFile("sessions", ".spill");
+        SessionStore offHeapStore = coldSessionStore(board, 64L << 20, null);
+        SessionStore spilledStore = coldSessionStore(board, 0, spillFile);
+
+        System.out.println("🎲 Simulation Benchmark (" + games + " games per run) 🎲");
+        for (int round = 1; round <= 3; round++) {
+            System.out.println("\nRound " + round + (round == 1 ? " (warm-up)" : ""));
+            measure("new Game per run", "games", games, () -> runFreshGames(board, games));
+            double pooled = measure("pooled Game.reset", "games", games, () -> runPooledGames(board, games));
+            double monitoredGame = measure("monitored dice games", "games", games, () -> runMonitoredGames(board, games));
+            double roll = measure("Dice.roll", "rolls", games * 10, () -> rollDice(new Dice(), games * 10));
+            double monitoredRoll = measure("monitored Dice.roll", "rolls", games * 10, () -> rollDice(monitoredDice(), games * 10));
+            System.out.printf("  %-22s %+.2f ns per roll (%+.0f%%), %+.0f%% per game%n", "monitor overhead",
+                              monitoredRoll - roll, 100 * (monitoredRoll / roll - 1), 100 * (monitoredGame / pooled - 1));
+            // Every roll rehydrates a cold session and evicts the least recent hot one
+            measure("off-heap session roll", "rolls", COLD_SESSIONS, () -> rollColdSessions(offHeapStore));
+            measure("spilled session roll", "rolls", COLD_SESSIONS, () -> rollColdSessions(spilledStore));
+        }
+        offHeapStore.close();
+        spilledStore.close();
+        Files.deleteIfExists(spillFile); // close() only deletes it if it was ever mapped
+    }
+
+    private static long runFreshGames(Board board, int games) {
+        List<Player> players = Arrays.asList(new Player("Alice", '1'), new Player("Bob", '2'));
+        long turns = 0;
+        for (int seed = 0; seed < games; seed++) {
+            Dice dice = new Dice();
+            dice.setSeed(seed);
+            Game game = new Game(players, board, dice);
+            game.playSilentGame(SimulationWorker.MAX_TURNS);
+            turns += game.getTurnCount();
+        }
+        return turns;
+    }
+
+    private static long runPooledGames(Board board, int games) {
+        GamePool pool = new GamePool(board, 2);
+        long turns = 0;
+        for (int seed = 0; seed < games; seed++) {
+            Game game = pool.acquire(seed);
+            game.playSilentGame(SimulationWorker.MAX_TURNS);
+            turns += game.getTurnCount();
+            pool.release(game);
+        }
+        return turns;
+    }
+
+    /**
+     * Same as runPooledGames, with every roll counted by a DiceFairnessMonitor
+     */
+    private static long runMonitoredGames(Board board, int games) {
+        List<Player> players = Arrays.asList(new Player("Alice", '1'), new Player("Bob", '2'));
+        Game game = new Game(players, board, monitoredDice());
+        long turns = 0;
+        for (int seed = 0; seed < games; seed++) {
+            game.reset(seed);
+            game.playSilentGame(SimulationWorker.MAX_TURNS);
+            turns += game.getTurnCount();
+        }
+        return turns;
+    }
+
+    private static SessionStore coldSessionStore(Board board, long offHeapBytes, Path spillFile) {
+        SessionStore store = new SessionStore(1_000, offHeapBytes, spillFile);
+        for (int id = 0; id < COLD_SESSIONS; id++) {
+            Dice dice = new Dice();
+            dice.setSeed(id);
+            store.put(id, new Game(Arrays.asList(new Player("Alice", '1'), new Player("Bob", '2')), board, dice));
+        }
+        return store;
+    }
+
+    /**
+     * Rolls every session once, in an order that always hits cold ones
+     */
+    private static long rollColdSessions(SessionStore store) {
+        long turns = 0;
+        for (int i = 0; i < COLD_SESSIONS; i++) {
+            Game game = store.get(i * 7919L % COLD_SESSIONS);
+            if (!game.isGameEnded()) {
+                game.playTurn();
+            }
+            turns += game.getTurnCount();
+        }
+        return turns;
+    }
+
+    private static long rollDice(Dice dice, int rolls) {
+        dice.setSeed(42);
+        long total = 0;
+        for (int i = 0; i < rolls; i++) {
+            total += dice.roll();
+        }
+        return total;
+    }
+
+    private static Dice monitoredDice() {
+        DiceFairnessMonitor monitor = new DiceFairnessMonitor(10, 4.0, System.out::println);
+        Dice dice = new Dice();
+        dice.setMonitor(monitor.stream("benchmark", dice.getSides()));
+        return dice;
+    }
+
+    /**
+     * Runs the workload once, prints operations/sec and bytes allocated per operation,
+     * and returns nanoseconds per operation
+     */
+    static double measure(String label, String unit, int operations, java.util.function.LongSupplier workload) {
+        long threadId = Thread.currentThread().getId();
+        long bytesBefore = THREADS.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+
+        long checksum = workload.getAsLong();
+
+        long elapsed = System.nanoTime() - start;
+        long bytes = THREADS.getThreadAllocatedBytes(threadId) - bytesBefore;
+        System.out.printf("  %-22s %,14.0f %s/sec %8.2f ns each %8.1f bytes each  (checksum %d)%n",
+                          label, operations / (elapsed / 1e9), unit, (double) elapsed / operations,
+                          (double) bytes / operations, checksum);
+        return (double) elapsed / operations;
+    }
+}
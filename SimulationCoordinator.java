@@ -0,0 +1,193 @@
+import java.io.*;
+import java.net.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * Splits a simulation study into seed-range shards and hands them out to
+ * SimulationWorker processes over TCP. Shards held by a worker that dies or
+ * stalls are put back in the queue for the remaining workers.
+ *
+ * Usage: java SimulationCoordinator [port] [games] [seats] [shardSize]
+ */
+public class SimulationCoordinator implements Closeable {
+    public static final int DEFAULT_PORT = 9876;
+
+    private final ServerSocket serverSocket;
+    private final List<Board> boards;
+    private final int seats;
+    private final int shardTimeoutMillis;
+    private final List<Shard> shards;
+    private final BlockingDeque<Shard> pending;
+    private final AtomicReferenceArray<SimulationAggregate> results;
+    private final CountDownLatch remaining;
+
+    /**
+     * One seed range on one board
+     */
+    private static class Shard {
+        final int id;
+        final int boardIndex;
+        final long firstSeed;
+        final int gameCount;
+
+        Shard(int id, int boardIndex, long firstSeed, int gameCount) {
+            this.id = id;
+            this.boardIndex = boardIndex;
+            this.firstSeed = firstSeed;
+            this.gameCount = gameCount;
+        }
+    }
+
+    /**
+     * Every board is played with the same seeds [firstSeed, firstSeed + gamesPerBoard)
+     */
+    public SimulationCoordinator(int port, List<Board> boards, int seats, long firstSeed,
+                                 long gamesPerBoard, int shardSize, int shardTimeoutMillis) throws IOException {
+        if (boards.isEmpty()) {
+            throw new IllegalArgumentException("Need at least 1 board to simulate!");
+        }
+        if (seats < 2 || seats > 10) {
+            throw new IllegalArgumentException("Seats must be between 2 and 10!");
+        }
+        if (shardSize < 1) {
+            throw new IllegalArgumentException("Shard size must be positive!");
+        }
+
+        this.boards = new ArrayList<>(boards);
+        this.seats = seats;
+        this.shardTimeoutMillis = shardTimeoutMillis;
+        this.shards = new ArrayList<>();
+        for (int b = 0; b < boards.size(); b++) {
+            for (long offset = 0; offset < gamesPerBoard; offset += shardSize) {
+                int count = (int) Math.min(shardSize, gamesPerBoard - offset);
+                shards.add(new Shard(shards.size(), b, firstSeed + offset, count));
+            }
+        }
+        this.pending = new LinkedBlockingDeque<>(shards);
+        this.results = new AtomicReferenceArray<>(shards.size());
+        this.remaining = new CountDownLatch(shards.size());
+        this.serverSocket = new ServerSocket(port);
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Accepts workers until every shard is done, then returns one merged aggregate per board.
+     * Shard results are merged in shard order, so the totals don't depend on the worker count.
+     */
+    public SimulationAggregate[] run() throws InterruptedException {
+        Thread acceptor = new Thread(this::acceptWorkers, "simulation-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+
+        remaining.await();
+        close();
+
+        SimulationAggregate[] perBoard = new SimulationAggregate[boards.size()];
+        for (int b = 0; b < perBoard.length; b++) {
+            perBoard[b] = new SimulationAggregate(seats);
+        }
+        for (Shard shard : shards) {
+            perBoard[shard.boardIndex].merge(results.get(shard.id));
+        }
+        return perBoard;
+    }
+
+    private void acceptWorkers() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                Thread handler = new Thread(() -> serveWorker(socket), "simulation-worker-" + socket.getPort());
+                handler.setDaemon(true);
+                handler.start();
+            } catch (IOException e) {
+                // Server socket closed - study is finished
+            }
+        }
+    }
+
+    /**
+     * Feeds shards to one worker; if the connection fails the in-flight shard is requeued
+     */
+    private void serveWorker(Socket socket) {
+        Shard inFlight = null;
+        try (socket) {
+            socket.setTcpNoDelay(true);
+            socket.setSoTimeout(shardTimeoutMillis);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+
+            SimulationProtocol.writeBoards(out, boards);
+            out.flush();
+
+            while (remaining.getCount() > 0) {
+                inFlight = pending.poll(100, TimeUnit.MILLISECONDS);
+                if (inFlight == null || results.get(inFlight.id) != null) {
+                    inFlight = null; // Nothing to do yet, or already finished by another worker
+                    continue;
+                }
+
+                out.writeByte(SimulationProtocol.SHARD);
+                out.writeInt(inFlight.id);
+                out.writeInt(inFlight.boardIndex);
+                out.writeInt(seats);
+                out.writeLong(inFlight.firstSeed);
+                out.writeInt(inFlight.gameCount);
+                out.flush();
+
+                SimulationProtocol.expect(in.readByte(), SimulationProtocol.RESULT);
+                int shardId = in.readInt();
+                SimulationAggregate result = SimulationAggregate.readFrom(in);
+                if (shardId != inFlight.id) {
+                    throw new IOException("Worker returned shard " + shardId + " for shard " + inFlight.id);
+                }
+                if (results.compareAndSet(shardId, null, result)) {
+                    remaining.countDown();
+                }
+                inFlight = null;
+            }
+
+            out.writeByte(SimulationProtocol.SHUTDOWN);
+            out.flush();
+        } catch (IOException e) {
+            if (inFlight != null) {
+                System.out.println("Worker " + socket.getRemoteSocketAddress() + " lost, reassigning shard " + inFlight.id);
+                pending.addFirst(inFlight);
+            }
+        } catch (InterruptedException e) {
+            if (inFlight != null) {
+                pending.addFirst(inFlight);
+            }
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            // Already closed
+        }
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        long games = args.length > 1 ? Long.parseLong(args[1]) : 1_000_000;
+        int seats = args.length > 2 ? Integer.parseInt(args[2]) : 2;
+        int shardSize = args.length > 3 ? Integer.parseInt(args[3]) : 10_000;
+
+        try (SimulationCoordinator coordinator = new SimulationCoordinator(
+                port, List.of(new Board()), seats, 0, games, shardSize, 60_000)) {
+            System.out.println("🎲 Coordinator listening on port " + coordinator.getPort() +
+                               " - start workers with: java SimulationWorker <host> " + coordinator.getPort());
+            SimulationAggregate[] results = coordinator.run();
+            System.out.println("\n=== SIMULATION RESULTS ===");
+            System.out.println(results[0]);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+import java.io.*;
+import java.util.*;
+
+/**
+ * Wire format shared by SimulationCoordinator and SimulationWorker.
+ *
+ * Coordinator -> worker: BOARDS once after connect, then SHARD or SHUTDOWN.
+ * Worker -> coordinator: one RESULT per SHARD.
+ */
+public final class SimulationProtocol {
+    public static final byte BOARDS = 1;
+    public static final byte SHARD = 2;
+    public static final byte RESULT = 3;
+    public static final byte SHUTDOWN = 4;
+
+    private SimulationProtocol() {
+    }
+
+    public static void writeBoards(DataOutput out, List<Board> boards) throws IOException {
+        out.writeByte(BOARDS);
+        out.writeInt(boards.size());
+        for (Board board : boards) {
+            writeBoard(out, board);
+        }
+    }
+
+    public static List<Board> readBoards(DataInput in) throws IOException {
+        expect(in.readByte(), BOARDS);
+        int count = in.readInt();
+        List<Board> boards = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            boards.add(readBoard(in));
+        }
+        return boards;
+    }
+
+    /**
+     * Writes a board's size and its exact snakes and ladders, in insertion order
+     */
+    public static void writeBoard(DataOutput out, Board board) throws IOException {
+        out.writeInt(board.getSize());
+
+        List<Snake> snakes = board.getSnakes();
+        out.writeInt(snakes.size());
+        for (Snake snake : snakes) {
+            out.writeInt(snake.getHead());
+            out.writeInt(snake.getTail());
+        }
+
+        List<Ladder> ladders = board.getLadders();
+        out.writeInt(ladders.size());
+        for (Ladder ladder : ladders) {
+            out.writeInt(ladder.getBottom());
+            out.writeInt(ladder.getTop());
+        }
+    }
+
+    public static Board readBoard(DataInput in) throws IOException {
+        int size = in.readInt();
+
+        int snakeCount = in.readInt();
+        List<Snake> snakes = new ArrayList<>(snakeCount);
+        for (int i = 0; i < snakeCount; i++) {
+            snakes.add(new Snake(in.readInt(), in.readInt()));
+        }
+
+        int ladderCount = in.readInt();
+        List<Ladder> ladders = new ArrayList<>(ladderCount);
+        for (int i = 0; i < ladderCount; i++) {
+            ladders.add(new Ladder(in.readInt(), in.readInt()));
+        }
+
+        return new Board(size, snakes, ladders);
+    }
+
+    static void expect(byte actual, byte expected) throws IOException {
+        if (actual != expected) {
+            throw new IOException("Protocol error: expected message " + expected + " but got " + actual);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+import java.io.*;
+import java.net.*;
+import java.util.*;
+
+/**
+ * Headless simulation worker - connects to a SimulationCoordinator, plays the
+ * seed ranges it is handed and sends back a SimulationAggregate per shard.
+ *
+ * Usage: java SimulationWorker [host] [port]
+ */
+public class SimulationWorker {
+    public static final int MAX_TURNS = 1000; // Same limit as Game.playQuickGame()
+
+    public static void main(String[] args) throws IOException {
+        String host = args.length > 0 ? args[0] : "localhost";
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : SimulationCoordinator.DEFAULT_PORT;
+        run(host, port);
+    }
+
+    /**
+     * Serves shards until the coordinator sends SHUTDOWN
+     */
+    public static void run(String host, int port) throws IOException {
+        try (Socket socket = new Socket(host, port)) {
+            socket.setTcpNoDelay(true);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+
+            List<Board> boards = SimulationProtocol.readBoards(in);
+
+            while (true) {
+                byte type;
+                try {
+                    type = in.readByte();
+                } catch (EOFException e) {
+                    return; // Coordinator finished without waiting for our SHUTDOWN
+                }
+                if (type == SimulationProtocol.SHUTDOWN) {
+                    return;
+                }
+                SimulationProtocol.expect(type, SimulationProtocol.SHARD);
+
+                int shardId = in.readInt();
+                int boardIndex = in.readInt();
+                int seats = in.readInt();
+                long firstSeed = in.readLong();
+                int gameCount = in.readInt();
+
+                SimulationAggregate result = simulate(boards.get(boardIndex), seats, firstSeed, gameCount);
+
+                out.writeByte(SimulationProtocol.RESULT);
+                out.writeInt(shardId);
+                result.writeTo(out);
+                out.flush();
+            }
+        }
+    }
+
+    /**
+     * Plays one silent game per seed in [firstSeed, firstSeed + gameCount).
+     * Each game depends only on its seed, so any split of a seed range gives the same totals.
+     */
+    public static SimulationAggregate simulate(Board board, int seats, long firstSeed, int gameCount) {
+        try {
+            return simulate(board, 0, seats, firstSeed, gameCount, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // Unreachable without a sink
+        }
+    }
+
+    /**
+     * Same as simulate(), additionally streaming one row per game to the sink (if not null)
+     */
+    public static SimulationAggregate simulate(Board board, int boardId, int seats, long firstSeed,
+                                               int gameCount, GameResultSink sink) throws IOException {
+        List<Player> players = new ArrayList<>(seats);
+        for (int i = 1; i <= seats; i++) {
+            players.add(new Player("Player" + i, '0')); // Symbol will be reassigned by Game class
+        }
+
+        SimulationAggregate aggregate = new SimulationAggregate(seats);
+        Game game = new Game(players, board, new Dice());
+        for (int i = 0; i < gameCount; i++) {
+            game.reset(firstSeed + i);
+            game.playSilentGame(MAX_TURNS);
+            aggregate.record(game);
+            if (sink != null) {
+                sink.append(firstSeed + i, boardId, game);
+            }
+        }
+        return aggregate;
+    }
+}
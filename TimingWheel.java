@@ -0,0 +1,377 @@
+import java.io.*;
+import java.util.function.*;
+
+/**
+ * Hierarchical timing wheel for large numbers of timers (e.g. one turn
+ * timeout per hosted game), in the style of the classic Linux kernel timers.
+ *
+ * Level 0 has 256 one-tick slots; each of the 4 higher levels has 64 slots
+ * covering 64x the range of the level below. Timers sit in doubly linked
+ * slot lists, so schedule() and cancel() are O(1); a timer moves down a level
+ * ("cascades") only when the wheel below wraps around.
+ *
+ * Time comes from an injectable millisecond clock. Either call start() to run
+ * one ticker thread, or drive advance() yourself (e.g. with a simulated clock).
+ * Expired tasks run on the thread that calls advance().
+ */
+public class TimingWheel implements Closeable {
+    private static final int ROOT_BITS = 8;
+    private static final int LEVEL_BITS = 6;
+    private static final int ROOT_MASK = (1 << ROOT_BITS) - 1;
+    private static final int LEVEL_MASK = (1 << LEVEL_BITS) - 1;
+    private static final int LEVELS = 4;
+    private static final long MAX_DELAY_TICKS = (1L << (ROOT_BITS + LEVELS * LEVEL_BITS)) - 1;
+
+    private final long tickMillis;
+    private final long maxDelayMillis; // Wheel span, saturated well below overflow
+    private final LongSupplier clock;
+    private final long startMillis;
+    private final Timeout[] root;
+    private final Timeout[][] levels;
+    private final Object lock = new Object();
+    private long nextTick; // Next tick to process; ticks before it have fired
+    private int size;
+    private Thread ticker;
+    private volatile boolean running;
+
+    /**
+     * A scheduled task; cancel() unlinks it from its slot in O(1)
+     */
+    public static final class Timeout {
+        private static final int PENDING = 0, CANCELLED = 1, EXPIRED = 2;
+
+        private final TimingWheel wheel;
+        private final Runnable task;
+        private long deadlineTick;
+        private Timeout prev;
+        private Timeout next;
+        private int state;
+
+        private Timeout(TimingWheel wheel, Runnable task, long deadlineTick) {
+            this.wheel = wheel;
+            this.task = task;
+            this.deadlineTick = deadlineTick;
+        }
+
+        /**
+         * Returns false if the timeout already fired or was cancelled
+         */
+        public boolean cancel() {
+            return wheel.cancel(this);
+        }
+
+        public boolean isCancelled() {
+            synchronized (wheel.lock) {
+                return state == CANCELLED;
+            }
+        }
+
+        public boolean isExpired() {
+            synchronized (wheel.lock) {
+                return state == EXPIRED;
+            }
+        }
+    }
+
+    /**
+     * A task run every interval until cancel(); see scheduleRepeating()
+     */
+    public static final class Repeating {
+        private final TimingWheel wheel;
+        private final Runnable task;
+        private final long intervalMillis;
+        private volatile Timeout next;
+        private volatile boolean cancelled;
+
+        private Repeating(TimingWheel wheel, Runnable task, long intervalMillis) {
+            this.wheel = wheel;
+            this.task = task;
+            this.intervalMillis = intervalMillis;
+        }
+
+        private void run() {
+            if (cancelled) {
+                return;
+            }
+            try {
+                task.run();
+            } finally {
+                // Reschedule even if the task failed (the wheel logs the failure)
+                scheduleNext();
+            }
+        }
+
+        private void scheduleNext() {
+            if (!cancelled) {
+                Timeout timeout = wheel.schedule(this::run, intervalMillis);
+                next = timeout;
+                if (cancelled) {
+                    timeout.cancel(); // cancel() ran while we were scheduling
+                }
+            }
+        }
+
+        /**
+         * Stops future runs (a run already in progress finishes)
+         */
+        public void cancel() {
+            cancelled = true;
+            Timeout timeout = next;
+            if (timeout != null) {
+                timeout.cancel();
+            }
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+    public TimingWheel(long tickMillis) {
+        this(tickMillis, () -> System.nanoTime() / 1_000_000);
+    }
+
+    public TimingWheel(long tickMillis, LongSupplier clockMillis) {
+        if (tickMillis < 1) {
+            throw new IllegalArgumentException("Tick must be at least 1 millisecond!");
+        }
+        this.tickMillis = tickMillis;
+        this.maxDelayMillis = tickMillis > (Long.MAX_VALUE >> 2) / (MAX_DELAY_TICKS + 1)
+                ? Long.MAX_VALUE >> 2 : (MAX_DELAY_TICKS + 1) * tickMillis;
+        this.clock = clockMillis;
+        this.startMillis = clockMillis.getAsLong();
+        this.root = newSlots(1 << ROOT_BITS);
+        this.levels = new Timeout[LEVELS][];
+        for (int i = 0; i < LEVELS; i++) {
+            levels[i] = newSlots(1 << LEVEL_BITS);
+        }
+    }
+
+    private Timeout[] newSlots(int count) {
+        Timeout[] slots = new Timeout[count];
+        for (int i = 0; i < count; i++) {
+            Timeout sentinel = new Timeout(this, null, 0);
+            sentinel.prev = sentinel;
+            sentinel.next = sentinel;
+            slots[i] = sentinel;
+        }
+        return slots;
+    }
+
+    /**
+     * Runs the task once, no earlier than delayMillis from now (rounded up to a tick)
+     */
+    public Timeout schedule(Runnable task, long delayMillis) {
+        // Clamp first so huge delays (e.g. Long.MAX_VALUE for "never") can't overflow;
+        // add() caps the deadline at the wheel's span anyway
+        long delay = Math.min(Math.max(0, delayMillis), maxDelayMillis);
+        long elapsed = clock.getAsLong() - startMillis + delay;
+        Timeout timeout = new Timeout(this, task, (elapsed + tickMillis - 1) / tickMillis);
+        synchronized (lock) {
+            add(timeout);
+            size++;
+        }
+        return timeout;
+    }
+
+    /**
+     * Runs the task every intervalMillis, first after one interval. The next run
+     * is scheduled even if the task throws, so a failure never stops it for good.
+     */
+    public Repeating scheduleRepeating(Runnable task, long intervalMillis) {
+        if (intervalMillis < 1) {
+            throw new IllegalArgumentException("Interval must be positive!");
+        }
+        Repeating repeating = new Repeating(this, task, intervalMillis);
+        repeating.scheduleNext();
+        return repeating;
+    }
+
+    private boolean cancel(Timeout timeout) {
+        synchronized (lock) {
+            if (timeout.state != Timeout.PENDING) {
+                return false;
+            }
+            unlink(timeout);
+            timeout.state = Timeout.CANCELLED;
+            size--;
+            return true;
+        }
+    }
+
+    /**
+     * Puts a timer into the slot matching how far away its deadline is
+     */
+    private void add(Timeout timeout) {
+        long deadline = timeout.deadlineTick;
+        long delta = deadline - nextTick;
+        Timeout slot;
+
+        if (delta < 0) {
+            slot = root[(int) (nextTick & ROOT_MASK)]; // Overdue: fire on the next tick
+        } else if (delta < 1L << ROOT_BITS) {
+            slot = root[(int) (deadline & ROOT_MASK)];
+        } else {
+            if (delta > MAX_DELAY_TICKS) {
+                deadline = nextTick + MAX_DELAY_TICKS;
+                timeout.deadlineTick = deadline;
+            }
+            int level = 0;
+            while (delta >= 1L << (ROOT_BITS + (level + 1) * LEVEL_BITS) && level < LEVELS - 1) {
+                level++;
+            }
+            slot = levels[level][(int) ((deadline >> (ROOT_BITS + level * LEVEL_BITS)) & LEVEL_MASK)];
+        }
+
+        timeout.prev = slot.prev;
+        timeout.next = slot;
+        slot.prev.next = timeout;
+        slot.prev = timeout;
+    }
+
+    private static void unlink(Timeout timeout) {
+        timeout.prev.next = timeout.next;
+        timeout.next.prev = timeout.prev;
+        timeout.prev = null;
+        timeout.next = null;
+    }
+
+    /**
+     * Fires every timer whose deadline has passed according to the clock
+     */
+    public void advance() {
+        long targetTick = (clock.getAsLong() - startMillis) / tickMillis;
+        while (true) {
+            Timeout expired;
+            synchronized (lock) {
+                if (nextTick > targetTick) {
+                    return;
+                }
+                expired = processTick();
+            }
+
+            while (expired != null) {
+                Timeout following = expired.next;
+                expired.next = null;
+                try {
+                    expired.task.run();
+                } catch (RuntimeException e) {
+                    System.out.println("Timer task failed: " + e);
+                }
+                expired = following;
+            }
+        }
+    }
+
+    /**
+     * Cascades higher levels when the root wheel wraps, then detaches the
+     * current root slot. Returns the expired timers as a singly linked chain.
+     */
+    private Timeout processTick() {
+        int index = (int) (nextTick & ROOT_MASK);
+        if (index == 0) {
+            for (int level = 0; level < LEVELS; level++) {
+                int slotIndex = (int) ((nextTick >> (ROOT_BITS + level * LEVEL_BITS)) & LEVEL_MASK);
+                cascade(levels[level][slotIndex]);
+                if (slotIndex != 0) {
+                    break;
+                }
+            }
+        }
+        nextTick++;
+
+        Timeout slot = root[index];
+        Timeout head = null;
+        Timeout tail = null;
+        for (Timeout t = slot.next; t != slot; ) {
+            Timeout following = t.next;
+            t.prev = null;
+            t.next = null;
+            t.state = Timeout.EXPIRED;
+            size--;
+            if (tail == null) {
+                head = t;
+            } else {
+                tail.next = t;
+            }
+            tail = t;
+            t = following;
+        }
+        slot.prev = slot;
+        slot.next = slot;
+        return head;
+    }
+
+    /**
+     * Re-adds every timer in a higher-level slot; they land in lower levels
+     */
+    private void cascade(Timeout slot) {
+        Timeout t = slot.next;
+        slot.prev = slot;
+        slot.next = slot;
+        while (t != slot) {
+            Timeout following = t.next;
+            add(t);
+            t = following;
+        }
+    }
+
+    /**
+     * Starts the single ticker thread that calls advance() once per tick
+     */
+    public synchronized void start() {
+        if (ticker != null) {
+            return;
+        }
+        running = true;
+        ticker = new Thread(() -> {
+            while (running) {
+                advance();
+                try {
+                    Thread.sleep(tickMillis);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }, "timing-wheel-ticker");
+        ticker.setDaemon(true);
+        ticker.start();
+    }
+
+    @Override
+    public synchronized void close() {
+        running = false;
+        if (ticker != null) {
+            ticker.interrupt();
+            ticker = null;
+        }
+    }
+
+    /**
+     * Pending (not yet fired or cancelled) timers
+     */
+    public int size() {
+        synchronized (lock) {
+            return size;
+        }
+    }
+
+    public long getTickMillis() {
+        return tickMillis;
+    }
+
+    /**
+     * Shared 10ms wheel with its ticker already running, used for game pacing
+     */
+    public static TimingWheel getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    private static class DefaultHolder {
+        static final TimingWheel INSTANCE = new TimingWheel(10);
+
+        static {
+            INSTANCE.start();
+        }
+    }
+}
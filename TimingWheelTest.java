@@ -0,0 +1,207 @@
+import java.util.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * Checks TimingWheel against a simulated clock: firing times, cancellation,
+ * cascading through every level, overdue timers and repeating tasks.
+ *
+ * Usage: java TimingWheelTest (exits with an error on the first failure)
+ */
+public class TimingWheelTest {
+    private static final long TICK = 10;
+
+    private final long[] now = {0};
+    private final TimingWheel wheel = new TimingWheel(TICK, () -> now[0]);
+
+    public static void main(String[] args) {
+        new TimingWheelTest().firesOnItsTick();
+        new TimingWheelTest().cancelledTimersNeverFire();
+        new TimingWheelTest().cascadesThroughEveryLevel();
+        new TimingWheelTest().overdueTimersFireOnNextTick();
+        new TimingWheelTest().failingTaskDoesNotStopOthers();
+        new TimingWheelTest().randomTimersFireExactlyOnce();
+        new TimingWheelTest().repeatingTaskSurvivesFailures();
+        new TimingWheelTest().hugeDelaysNeverOverflow();
+        System.out.println("✅ All TimingWheel tests passed");
+    }
+
+    private void firesOnItsTick() {
+        List<String> fired = new ArrayList<>();
+        wheel.schedule(() -> fired.add("a"), 0);
+        wheel.schedule(() -> fired.add("b"), 5);  // Rounded up to tick 1
+        wheel.schedule(() -> fired.add("c"), 10);
+        wheel.schedule(() -> fired.add("d"), 25); // Tick 3
+
+        advanceTo(0);
+        check(fired.equals(List.of("a")), "delay 0 fires on tick 0, got " + fired);
+        advanceTo(9);
+        check(fired.equals(List.of("a")), "nothing due before tick 1, got " + fired);
+        advanceTo(10);
+        check(fired.equals(List.of("a", "b", "c")), "delays 5 and 10 fire on tick 1, got " + fired);
+        advanceTo(29);
+        check(fired.size() == 3, "delay 25 must wait for tick 3, got " + fired);
+        advanceTo(30);
+        check(fired.equals(List.of("a", "b", "c", "d")), "delay 25 fires on tick 3, got " + fired);
+        check(wheel.size() == 0, "no timers left, size " + wheel.size());
+        pass("fires on its tick");
+    }
+
+    private void cancelledTimersNeverFire() {
+        AtomicInteger fired = new AtomicInteger();
+        TimingWheel.Timeout kept = wheel.schedule(fired::incrementAndGet, 50);
+        TimingWheel.Timeout cancelled = wheel.schedule(() -> fail("cancelled timer fired"), 50);
+        TimingWheel.Timeout far = wheel.schedule(() -> fail("cancelled far timer fired"), 100_000);
+
+        check(cancelled.cancel(), "first cancel succeeds");
+        check(!cancelled.cancel(), "second cancel is a no-op");
+        check(far.cancel(), "cancel of a higher-level timer succeeds");
+        check(wheel.size() == 1, "cancelled timers leave the wheel, size " + wheel.size());
+
+        advanceTo(200_000);
+        check(fired.get() == 1 && kept.isExpired(), "remaining timer fired");
+        check(!kept.cancel(), "cancel after firing returns false");
+        check(cancelled.isCancelled() && !cancelled.isExpired(), "cancelled state kept");
+        pass("cancelled timers never fire");
+    }
+
+    private void cascadesThroughEveryLevel() {
+        // Just past each level's range, so every timer has to cascade down
+        long[] delayTicks = {(1L << 8) + 1, (1L << 14) + 3, (1L << 20) + 5, (1L << 26) + 7};
+        long[] firedAt = new long[delayTicks.length];
+        for (int i = 0; i < delayTicks.length; i++) {
+            int index = i;
+            wheel.schedule(() -> firedAt[index] = now[0], delayTicks[i] * TICK);
+        }
+
+        for (int i = 0; i < delayTicks.length; i++) {
+            long deadline = delayTicks[i] * TICK;
+            advanceTo(deadline - TICK);
+            check(firedAt[i] == 0, "timer " + i + " fired early, at " + firedAt[i]);
+            advanceTo(deadline);
+            check(firedAt[i] == deadline, "timer " + i + " should fire at " + deadline + ", got " + firedAt[i]);
+        }
+        check(wheel.size() == 0, "no timers left, size " + wheel.size());
+        pass("cascades through every level");
+    }
+
+    private void overdueTimersFireOnNextTick() {
+        List<Long> firedAt = new ArrayList<>();
+        advanceTo(100); // Ticks up to 10 processed
+        wheel.schedule(() -> firedAt.add(now[0]), 0);   // Deadline tick 10, already past
+        wheel.schedule(() -> firedAt.add(now[0]), -50); // Negative delays count as 0
+
+        wheel.advance();
+        check(firedAt.isEmpty(), "overdue timers wait for the next tick, got " + firedAt);
+        advanceTo(110);
+        check(firedAt.equals(List.of(110L, 110L)), "overdue timers fire on the next tick, got " + firedAt);
+
+        // Clock jumped far ahead without advance(): everything due fires on the next call
+        List<Long> late = new ArrayList<>();
+        wheel.schedule(() -> late.add(now[0]), 20);
+        wheel.schedule(() -> late.add(now[0]), 5_000);
+        now[0] = 1_000_000;
+        wheel.advance();
+        check(late.equals(List.of(1_000_000L, 1_000_000L)), "late timers all fire, got " + late);
+        pass("overdue timers fire on the next tick");
+    }
+
+    private void failingTaskDoesNotStopOthers() {
+        AtomicInteger fired = new AtomicInteger();
+        wheel.schedule(() -> {
+            throw new IllegalStateException("expected test failure");
+        }, 10);
+        wheel.schedule(fired::incrementAndGet, 10);
+        advanceTo(10);
+        check(fired.get() == 1, "timer after a failing one still fires");
+        pass("failing task does not stop others");
+    }
+
+    private void randomTimersFireExactlyOnce() {
+        Random random = new Random(42);
+        int count = 100_000;
+        long[] deadlines = new long[count];
+        long[] firedAt = new long[count];
+        TimingWheel.Timeout[] timeouts = new TimingWheel.Timeout[count];
+        for (int i = 0; i < count; i++) {
+            int index = i;
+            long delay = random.nextInt(50_000) * TICK;
+            deadlines[i] = delay;
+            timeouts[i] = wheel.schedule(() -> {
+                check(firedAt[index] == 0, "timer " + index + " fired twice");
+                firedAt[index] = now[0];
+            }, delay);
+        }
+        boolean[] cancelled = new boolean[count];
+        for (int i = 0; i < count; i += 3) {
+            cancelled[i] = timeouts[i].cancel();
+        }
+
+        for (long t = 0; t <= 50_000 * TICK; t += TICK) {
+            advanceTo(t);
+        }
+        for (int i = 0; i < count; i++) {
+            if (cancelled[i]) {
+                check(firedAt[i] == 0, "cancelled timer " + i + " fired");
+            } else {
+                check(firedAt[i] == deadlines[i] || (deadlines[i] == 0 && firedAt[i] == 0),
+                      "timer " + i + " due at " + deadlines[i] + " fired at " + firedAt[i]);
+            }
+        }
+        check(wheel.size() == 0, "no timers left, size " + wheel.size());
+        pass("random timers fire exactly once");
+    }
+
+    private void repeatingTaskSurvivesFailures() {
+        List<Long> runs = new ArrayList<>();
+        TimingWheel.Repeating repeating = wheel.scheduleRepeating(() -> {
+            runs.add(now[0]);
+            if (runs.size() == 2) {
+                throw new IllegalStateException("expected test failure");
+            }
+        }, 100);
+
+        for (long t = 0; t <= 500; t += TICK) {
+            advanceTo(t);
+        }
+        check(runs.equals(List.of(100L, 200L, 300L, 400L, 500L)), "runs every interval despite a failure, got " + runs);
+
+        repeating.cancel();
+        check(repeating.isCancelled() && wheel.size() == 0, "cancel drops the pending run, size " + wheel.size());
+        advanceTo(2_000);
+        check(runs.size() == 5, "no runs after cancel, got " + runs);
+        pass("repeating task survives failures");
+    }
+
+    private void hugeDelaysNeverOverflow() {
+        advanceTo(1_000);
+        AtomicInteger fired = new AtomicInteger();
+        TimingWheel.Timeout never = wheel.schedule(fired::incrementAndGet, Long.MAX_VALUE);
+        wheel.schedule(fired::incrementAndGet, Long.MAX_VALUE - 500);
+
+        for (long t = 1_000; t <= 1_000_000; t += 1_000) {
+            advanceTo(t);
+        }
+        check(fired.get() == 0, "Long.MAX_VALUE delays must not fire early, fired " + fired.get());
+        check(wheel.size() == 2 && never.cancel(), "huge-delay timers stay pending");
+        pass("huge delays never overflow");
+    }
+
+    private void advanceTo(long millis) {
+        now[0] = millis;
+        wheel.advance();
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            fail(message);
+        }
+    }
+
+    private static void fail(String message) {
+        throw new AssertionError(message);
+    }
+
+    private static void pass(String name) {
+        System.out.println("  ✓ " + name);
+    }
+}
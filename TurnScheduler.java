@@ -0,0 +1,129 @@
+import java.util.function.*;
+
+/**
+ * Hosts many games on one TimingWheel with a deadline per turn.
+ * Players roll through Session.roll(); when a turn's deadline passes the
+ * wheel's ticker either rolls for the idle player or forfeits their turn.
+ * No thread is held per game while it waits.
+ */
+public class TurnScheduler {
+    private final TimingWheel wheel;
+    private final long turnTimeoutMillis;
+    private final TimeoutPolicy policy;
+
+    public enum TimeoutPolicy {
+        AUTO_ROLL,    // Roll on the idle player's behalf
+        FORFEIT_TURN  // Idle player loses the turn
+    }
+
+    public TurnScheduler(TimingWheel wheel, long turnTimeoutMillis, TimeoutPolicy policy) {
+        if (turnTimeoutMillis < 1) {
+            throw new IllegalArgumentException("Turn timeout must be positive!");
+        }
+        this.wheel = wheel;
+        this.turnTimeoutMillis = turnTimeoutMillis;
+        this.policy = policy;
+    }
+
+    /**
+     * Starts hosting a game; the first turn's deadline begins now
+     */
+    public Session host(Game game) {
+        return host(game, null);
+    }
+
+    /**
+     * Same as host(game), calling onFinished (on the finishing thread) once the game ends
+     */
+    public Session host(Game game, Consumer<Game> onFinished) {
+        Session session = new Session(game, onFinished);
+        synchronized (session) {
+            session.armTurnTimer();
+        }
+        return session;
+    }
+
+    /**
+     * One hosted game and its pending turn timer
+     */
+    public class Session {
+        private final Game game;
+        private final Consumer<Game> onFinished;
+        private TimingWheel.Timeout turnTimer;
+        private long armedTurn; // Identifies the current timer, so stale firings are ignored
+        private int timeouts;
+        private boolean closed;
+
+        private Session(Game game, Consumer<Game> onFinished) {
+            this.game = game;
+            this.onFinished = onFinished;
+        }
+
+        /**
+         * Current player rolls before the deadline. Returns false if the game is over.
+         */
+        public synchronized boolean roll() {
+            if (closed || game.isGameEnded()) {
+                return false;
+            }
+            turnTimer.cancel();
+            game.playTurn();
+            afterTurn();
+            return true;
+        }
+
+        /**
+         * Stops hosting the game and drops its timer
+         */
+        public synchronized void close() {
+            closed = true;
+            if (turnTimer != null) {
+                turnTimer.cancel();
+            }
+        }
+
+        private synchronized void onTurnTimeout(long turn) {
+            if (closed || turn != armedTurn || game.isGameEnded()) {
+                return; // Stale timer: the player rolled in time
+            }
+            timeouts++;
+            if (policy == TimeoutPolicy.AUTO_ROLL) {
+                game.playTurn();
+            } else {
+                game.forfeitTurn();
+            }
+            afterTurn();
+        }
+
+        private void afterTurn() {
+            if (game.isGameEnded()) {
+                closed = true;
+                if (onFinished != null) {
+                    onFinished.accept(game);
+                }
+            } else {
+                armTurnTimer();
+            }
+        }
+
+        private void armTurnTimer() {
+            long turn = ++armedTurn;
+            turnTimer = wheel.schedule(() -> onTurnTimeout(turn), turnTimeoutMillis);
+        }
+
+        public Game getGame() {
+            return game;
+        }
+
+        /**
+         * Turns that were auto-rolled or forfeited because the player was idle
+         */
+        public synchronized int getTimeouts() {
+            return timeouts;
+        }
+
+        public synchronized boolean isClosed() {
+            return closed;
+        }
+    }
+}
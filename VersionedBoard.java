@@ -0,0 +1,53 @@
+import java.util.concurrent.atomic.*;
+import java.util.function.*;
+
+/**
+ * RCU-style holder for a live board layout.
+ *
+ * Readers call current() - a single volatile read, no locks - and keep the
+ * returned Board for as long as they like; every published Board is sealed
+ * and never changes. Operators publish edits with update(), which builds the
+ * next version (sharing unchanged structure, see Board.withSnake()) and swaps
+ * it in atomically. Games already running keep their version; new games pick
+ * up the latest one.
+ */
+public class VersionedBoard implements Supplier<Board> {
+    private final AtomicReference<Board> current;
+
+    public VersionedBoard(Board initial) {
+        initial.seal();
+        this.current = new AtomicReference<>(initial);
+    }
+
+    /**
+     * Latest published version
+     */
+    public Board current() {
+        return current.get();
+    }
+
+    @Override
+    public Board get() {
+        return current();
+    }
+
+    /**
+     * Applies an edit such as {@code b -> b.withSnake(new Snake(97, 3))} and
+     * publishes the result. Concurrent edits are retried, so none are lost;
+     * the edit function may therefore run more than once.
+     */
+    public Board update(UnaryOperator<Board> edit) {
+        while (true) {
+            Board base = current.get();
+            Board next = edit.apply(base);
+            next.seal();
+            if (current.compareAndSet(base, next)) {
+                return next;
+            }
+        }
+    }
+
+    public long getVersion() {
+        return current().getVersion();
+    }
+}